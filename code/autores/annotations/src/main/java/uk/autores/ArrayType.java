@@ -0,0 +1,47 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores;
+
+/**
+ * <p>
+ *     Whether {@link ByteArrays} also generates accessors that return the data as primitive arrays.
+ * </p>
+ * <p>
+ *     The resource size must be a multiple of the element size.
+ *     Elements are decoded in the {@link ByteArrays#order()} byte order.
+ *     For a resource method <code>foo()</code> the accessor is
+ *     <code>fooShorts()</code>, <code>fooChars()</code>, <code>fooInts()</code>, <code>fooLongs()</code>,
+ *     <code>fooFloats()</code> or <code>fooDoubles()</code>.
+ * </p>
+ */
+public enum ArrayType {
+    /** No primitive array accessor is generated. The default. */
+    NONE("none"),
+    /** <code>short[]</code> */
+    SHORT("short"),
+    /** <code>char[]</code> */
+    CHAR("char"),
+    /** <code>int[]</code> */
+    INT("int"),
+    /** <code>long[]</code> */
+    LONG("long"),
+    /** <code>float[]</code> */
+    FLOAT("float"),
+    /** <code>double[]</code> */
+    DOUBLE("double");
+
+    private final String token;
+
+    ArrayType(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Underlying string value.
+     *
+     * @return configuration string
+     */
+    public String token() {
+        return token;
+    }
+}
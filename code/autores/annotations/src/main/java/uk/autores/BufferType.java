@@ -0,0 +1,52 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ *     Whether {@link ByteArrays} also generates {@link ByteBuffer} accessors, and how they are backed.
+ * </p>
+ * <p>
+ *     Buffer accessors return read-only views of a single copy of the data held by the generated class.
+ *     Callers share the copy so there is no allocation per call beyond the view.
+ * </p>
+ */
+public enum BufferType {
+    /** No buffer accessor is generated. The default. */
+    NONE("none"),
+    /**
+     * The data is copied once to the heap when the buffer accessor is first called.
+     */
+    HEAP("heap"),
+    /**
+     * The resource file is memory-mapped read-only when it is a file on the filesystem.
+     * Otherwise, the data is copied once to the heap.
+     * This avoids a heap copy of large files in exploded classpath deployments
+     * and lets the operating system share the pages between processes.
+     */
+    MAPPED("mapped"),
+    /**
+     * The data is copied once to memory allocated with {@link ByteBuffer#allocateDirect(int)}.
+     * Resources loaded from the classpath are read straight into the buffer
+     * without an intermediate array.
+     * This keeps large data out of the garbage collected heap.
+     */
+    DIRECT("direct");
+
+    private final String token;
+
+    BufferType(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Underlying string value.
+     *
+     * @return configuration string
+     */
+    public String token() {
+        return token;
+    }
+}
@@ -55,4 +55,54 @@ public @interface ByteArrays {
      * @return strategy
      */
     Strategy strategy() default Strategy.AUTO;
+
+    /**
+     * Whether to also generate shared {@link java.nio.ByteBuffer} accessors.
+     * The accessor for a resource method <code>foo()</code> is <code>fooBuffer()</code>.
+     *
+     * @return buffer type
+     */
+    BufferType buffer() default BufferType.NONE;
+
+    /**
+     * Whether to also generate primitive array accessors.
+     * The accessor for a resource method <code>foo()</code> returns a new array each call.
+     * With {@link ArrayType#INT} it is <code>int[] fooInts()</code>.
+     * The resource size must be a multiple of the element size.
+     *
+     * @return element type
+     * @see #order()
+     */
+    ArrayType elements() default ArrayType.NONE;
+
+    /**
+     * Byte order used to decode {@link #elements()}.
+     *
+     * @return byte order
+     */
+    Endian order() default Endian.BIG;
+
+    /**
+     * Whether to also generate streaming accessors.
+     * For a resource method <code>foo()</code> these are <code>fooOpenStream()</code>,
+     * <code>fooWriteTo(OutputStream)</code> and <code>fooWriteTo(WritableByteChannel)</code>.
+     * Embedded data is decoded a chunk at a time rather than into a single array.
+     *
+     * @return true to generate streaming accessors
+     */
+    boolean streams() default false;
+
+    /**
+     * Whether to generate <code>preload(Executor)</code> and <code>preloadAll()</code> methods.
+     * Lazily loaded resources are memoized and every memoized array is preloaded.
+     * With {@link Strategy#LAZY} and {@link Strategy#AUTO} that applies to resources
+     * that would otherwise be read on every call.
+     * Each resource is loaded as a separate task and the returned
+     * {@link java.util.concurrent.CompletableFuture} completes when all of them have.
+     * <code>preloadAll()</code> starts a virtual thread per resource when compiling for Java 21 or later;
+     * otherwise it uses the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @return true to generate preload methods
+     */
+    boolean preload() default false;
 }
@@ -0,0 +1,30 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores;
+
+/**
+ * Byte order of multibyte values in resource files.
+ *
+ * @see ArrayType
+ */
+public enum Endian {
+    /** Most significant byte first. The default. */
+    BIG("big"),
+    /** Least significant byte first. */
+    LITTLE("little");
+
+    private final String token;
+
+    Endian(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Underlying string value.
+     *
+     * @return configuration string
+     */
+    public String token() {
+        return token;
+    }
+}
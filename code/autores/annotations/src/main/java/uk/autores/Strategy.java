@@ -29,7 +29,20 @@ public enum Strategy {
      * Generated code loads data from classpath at runtime.
      * This generally means using mechanisms like {@link Class#getResourceAsStream(String)}.
      */
-    LAZY("lazy");
+    LAZY("lazy"),
+    /**
+     * Generated code builds the data once and returns it to each caller.
+     * {@link ByteArrays} embeds or loads the data as for {@link #AUTO} and returns a copy of the array.
+     * {@link Texts} always embeds the text, whatever its size, and returns the same {@link String} instance;
+     * it never loads from the classpath at runtime.
+     */
+    MEMO("memo"),
+    /**
+     * Generated code embeds compressed data in class constant pool and decompresses it on each call.
+     * This generally means {@link java.util.zip.Deflater} output encoded as {@link String} constants.
+     * Suited to large, repetitive resources such as text formats.
+     */
+    COMPRESSED("compressed");
 
     private final String token;
 
@@ -64,4 +64,49 @@ public @interface Texts {
      * @return canonical encoding name
      */
     String encoding() default "UTF-8";
+
+    /**
+     * Whether to also generate streaming accessors.
+     * For a resource method <code>foo()</code> these are <code>fooOpenStream()</code>,
+     * <code>fooWriteTo(OutputStream)</code> and <code>fooWriteTo(WritableByteChannel)</code>.
+     * Embedded data is decoded a chunk at a time rather than into a single array.
+     * The streamed text is encoded as UTF-8.
+     *
+     * @return true to generate streaming accessors
+     */
+    boolean streams() default false;
+
+    /**
+     * Whether to also generate character accessors.
+     * For a resource method <code>foo()</code> these are <code>fooOpenReader()</code>
+     * returning a {@link java.io.Reader} and <code>fooView()</code> returning a {@link CharSequence}.
+     * Large embedded text is read a string constant at a time rather than as a single string.
+     * Lazily loaded text is decoded from the resource as it is read.
+     *
+     * @return true to generate character accessors
+     */
+    boolean readers() default false;
+
+    /**
+     * Whether to also generate line accessors.
+     * For a resource method <code>foo()</code> these are <code>fooLineCount()</code>,
+     * <code>fooLine(int)</code> and <code>fooLines()</code>.
+     * Lines are split as by {@link String#lines()} using an index built at compile time.
+     * The text is kept in memory once a line has been read.
+     *
+     * @return true to generate line accessors
+     */
+    boolean lines() default false;
+
+    /**
+     * Whether to generate <code>preload(Executor)</code> and <code>preloadAll()</code> methods.
+     * Lazily loaded resources are memoized and every memoized string is preloaded.
+     * Each resource is loaded as a separate task and the returned
+     * {@link java.util.concurrent.CompletableFuture} completes when all of them have.
+     * <code>preloadAll()</code> starts a virtual thread per resource when compiling for Java 21 or later;
+     * otherwise it uses the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @return true to generate preload methods
+     */
+    boolean preload() default false;
 }
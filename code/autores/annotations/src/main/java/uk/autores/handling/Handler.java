@@ -48,6 +48,23 @@ public interface Handler {
         return Collections.emptySet();
     }
 
+    /**
+     * <p>
+     *     Declares that {@link #handle(Context)} only creates source files and that their content depends only on:
+     *     the handler type; {@link Context#config()}; the {@link Context#namer()} type; {@link Context#pkg()};
+     *     {@link Context#annotated()}; the {@link javax.annotation.processing.ProcessingEnvironment#getSourceVersion()}
+     *     of {@link Context#env()}; and the names and contents of {@link Context#resources()}.
+     * </p>
+     * <p>
+     *     The annotation processor may then reuse the output of a previous compilation when none of these change.
+     * </p>
+     *
+     * @return false by default
+     */
+    default boolean deterministic() {
+        return false;
+    }
+
     /**
      * <p>
      *     Validates the {@link Context#config()}. Override to change behaviour.
@@ -7,6 +7,7 @@ import uk.autores.ResourceFiles;
 import javax.tools.FileObject;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -40,6 +41,31 @@ public final class Resource implements CharSequence {
         return file.open();
     }
 
+    /**
+     * Resource size in bytes.
+     * Values greater than {@link Integer#MAX_VALUE} indicate the resource is too large for an array
+     * and are not guaranteed to be exact.
+     *
+     * @return size in bytes
+     * @throws IOException on I/O error
+     * @see ResourceOpener#size()
+     */
+    public long size() throws IOException {
+        return file.size();
+    }
+
+    /**
+     * The resource contents.
+     * The annotation processor may cache these between calls and handlers.
+     *
+     * @return read-only view of the resource contents
+     * @throws IOException on I/O error or if the resource is larger than {@link Integer#MAX_VALUE}
+     * @see ResourceOpener#bytes()
+     */
+    public ByteBuffer bytes() throws IOException {
+        return file.bytes();
+    }
+
     @Override
     public int length() {
         return path.length();
@@ -75,5 +101,43 @@ public final class Resource implements CharSequence {
          * @throws IOException on error
          */
         InputStream open() throws IOException;
+
+        /**
+         * The default implementation reads the resource and counts the bytes.
+         * Counting stops once the size exceeds {@link Integer#MAX_VALUE}.
+         *
+         * @return size in bytes
+         * @throws IOException on error
+         */
+        default long size() throws IOException {
+            byte[] buf = new byte[8 * 1024];
+            long size = 0;
+            try (InputStream in = open()) {
+                while (size <= Integer.MAX_VALUE) {
+                    int r = in.read(buf);
+                    if (r < 0) {
+                        break;
+                    }
+                    size += r;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * The default implementation reads the resource into a new array.
+         *
+         * @return read-only view of the resource contents
+         * @throws IOException on error or if the resource is larger than {@link Integer#MAX_VALUE}
+         */
+        default ByteBuffer bytes() throws IOException {
+            try (InputStream in = open()) {
+                byte[] data = in.readNBytes(Integer.MAX_VALUE);
+                if (in.read() >= 0) {
+                    throw new IOException("Resource larger than " + Integer.MAX_VALUE);
+                }
+                return ByteBuffer.wrap(data).asReadOnlyBuffer();
+            }
+        }
     }
 }
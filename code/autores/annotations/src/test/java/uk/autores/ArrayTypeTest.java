@@ -0,0 +1,21 @@
+package uk.autores;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArrayTypeTest {
+
+    @Test
+    void token() {
+        ArrayType[] all = ArrayType.values();
+        Set<String> names = Stream.of(all)
+                .map(ArrayType::token)
+                .collect(Collectors.toSet());
+        assertEquals(all.length, names.size());
+    }
+}
\ No newline at end of file
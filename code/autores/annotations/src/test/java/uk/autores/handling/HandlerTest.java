@@ -20,6 +20,11 @@ class HandlerTest {
         assertTrue(test.config().isEmpty());
     }
 
+    @Test
+    void notDeterministicByDefault() {
+        assertFalse(test.deterministic());
+    }
+
     @Test
     void passesValidConfig() {
         List<String> errs = new ArrayList<>();
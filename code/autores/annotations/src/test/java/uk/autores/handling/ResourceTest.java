@@ -5,8 +5,9 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ResourceTest {
 
@@ -24,4 +25,38 @@ class ResourceTest {
             assertSame(is, in);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void size() throws IOException {
+        Resource resource = new Resource(() -> new ByteArrayInputStream(new byte[10_000]), "bar");
+        assertEquals(10_000, resource.size());
+    }
+
+    @Test
+    void sizeStopsCountingPastIntMax() throws IOException {
+        InputStream infinite = new InputStream() {
+            @Override
+            public int read() {
+                return 0;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return len;
+            }
+        };
+        Resource resource = new Resource(() -> infinite, "bar");
+        assertTrue(resource.size() > Integer.MAX_VALUE);
+    }
+
+    @Test
+    void bytes() throws IOException {
+        byte[] data = new byte[20_000];
+        data[19_999] = 1;
+        Resource resource = new Resource(() -> new ByteArrayInputStream(data), "bar");
+        ByteBuffer bytes = resource.bytes();
+        assertTrue(bytes.isReadOnly());
+        assertEquals(data.length, bytes.remaining());
+        assertEquals(1, bytes.get(19_999));
+    }
+}
@@ -23,6 +23,6 @@ final class AnnotationDef<S extends Annotation, R extends Annotation> {
 
     @FunctionalInterface
     interface F<S extends Annotation, R extends Annotation> {
-        ContextFactory<S, R> create(ProcessingEnvironment env);
+        ContextFactory<S, R> create(ProcessingEnvironment env, ResourceCache cache);
     }
 }
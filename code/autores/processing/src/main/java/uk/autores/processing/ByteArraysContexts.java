@@ -2,13 +2,20 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.processing;
 
+import uk.autores.ArrayType;
+import uk.autores.BufferType;
 import uk.autores.ByteArrays;
 import uk.autores.Processing;
 import uk.autores.Visibility;
 import uk.autores.handling.Config;
 import uk.autores.handling.Handler;
+import uk.autores.processing.handlers.CfgBuffer;
+import uk.autores.processing.handlers.CfgElements;
 import uk.autores.processing.handlers.CfgName;
+import uk.autores.processing.handlers.CfgOrder;
+import uk.autores.processing.handlers.CfgPreload;
 import uk.autores.processing.handlers.CfgStrategy;
+import uk.autores.processing.handlers.CfgStreams;
 import uk.autores.processing.handlers.CfgVisibility;
 import uk.autores.processing.handlers.GenerateByteArraysFromFiles;
 import uk.autores.repeat.RepeatableByteArrays;
@@ -20,8 +27,8 @@ import java.util.List;
 final class ByteArraysContexts extends ContextFactory<ByteArrays, RepeatableByteArrays> {
     private final Handler handler = new GenerateByteArraysFromFiles();
 
-    ByteArraysContexts(ProcessingEnvironment env) {
-        super(env, ByteArrays.class, RepeatableByteArrays.class);
+    ByteArraysContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, ByteArrays.class, RepeatableByteArrays.class);
     }
 
     @Override
@@ -40,6 +47,19 @@ final class ByteArraysContexts extends ContextFactory<ByteArrays, RepeatableByte
             cfg.add(new Config(CfgName.NAME, name));
         }
         cfg.add(new Config(CfgStrategy.STRATEGY, byteArrays.strategy().token()));
+        if (byteArrays.buffer() != BufferType.NONE) {
+            cfg.add(new Config(CfgBuffer.BUFFER, byteArrays.buffer().token()));
+        }
+        if (byteArrays.elements() != ArrayType.NONE) {
+            cfg.add(new Config(CfgElements.ELEMENTS, byteArrays.elements().token()));
+            cfg.add(new Config(CfgOrder.ORDER, byteArrays.order().token()));
+        }
+        if (byteArrays.streams()) {
+            cfg.add(new Config(CfgStreams.STREAMS, CfgStreams.TRUE));
+        }
+        if (byteArrays.preload()) {
+            cfg.add(new Config(CfgPreload.PRELOAD, CfgPreload.TRUE));
+        }
         return cfg;
     }
 
@@ -16,11 +16,8 @@ import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
-import javax.tools.FileObject;
 import javax.tools.JavaFileManager;
 import javax.tools.StandardLocation;
-import java.io.IOException;
-import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.function.Supplier;
@@ -33,11 +30,13 @@ import static uk.autores.processing.Compare.nullOrEmpty;
 abstract class ContextFactory<S extends Annotation, R extends Annotation> {
 
     private final ProcessingEnvironment env;
+    private final ResourceCache cache;
     private final Class<S> single;
     private final Class<R> repeating;
 
-    ContextFactory(ProcessingEnvironment env, Class<S> single, Class<R> repeating) {
+    ContextFactory(ProcessingEnvironment env, ResourceCache cache, Class<S> single, Class<R> repeating) {
         this.env = env;
+        this.cache = cache;
         this.single = single;
         this.repeating = repeating;
     }
@@ -77,10 +76,10 @@ abstract class ContextFactory<S extends Annotation, R extends Annotation> {
 
     private Context init(S s, Element annotated, Processing p) {
         Pkg pkg = pkg(annotated);
-        List<Resource> r = resources(resources(s), p.locations(), pkg, annotated);
+        List<JavaFileManager.Location> locations = locationList(p.locations());
+        List<Resource> r = resources(resources(s), locations, pkg, annotated);
         Namer namer = instance(p::namer);
         List<Config> configs = config(s);
-        List<JavaFileManager.Location> locations = locationList(p.locations());
         return Context.builder()
                 .setAnnotated(annotated)
                 .setConfig(configs)
@@ -134,7 +133,7 @@ abstract class ContextFactory<S extends Annotation, R extends Annotation> {
     }
 
     private List<Resource> resources(String[] res,
-                             String[] locations,
+                             List<JavaFileManager.Location> locations,
                              Pkg annotationPackage,
                              Element annotated) {
         List<Resource> resources = new ArrayList<>(res.length);
@@ -153,12 +152,8 @@ abstract class ContextFactory<S extends Annotation, R extends Annotation> {
 
                 pkg = ResourceFiling.pkg(annotationPackage, resource);
                 value = ResourceFiling.relativeName(resource);
-                FileObject fo = getResource(filer, locations, pkg, value);
-                try (InputStream is = fo.openInputStream()) {
-                    // NOOP; if file can be opened it exists
-                    assert is != null;
-                }
-                resources.add(new Resource(fo::openInputStream, resource));
+                Resource.ResourceOpener opener = cache.resolve(filer, locations, pkg, value);
+                resources.add(new Resource(opener, resource));
             }
 
         } catch (Exception e) {
@@ -171,25 +166,6 @@ abstract class ContextFactory<S extends Annotation, R extends Annotation> {
         return resources;
     }
 
-    private FileObject getResource(Filer filer, String[] locations, CharSequence pkg, CharSequence value) throws IOException {
-        Set<String> errors = new LinkedHashSet<>();
-        for (String location : locations) {
-            JavaFileManager.Location jfml = StandardLocation.locationFor(location);
-            try {
-                FileObject fo = filer.getResource(jfml, pkg, value);
-                try (InputStream is = fo.openInputStream()) {
-                    // NOOP; if file can be opened it exists
-                    assert is != null;
-                }
-                return fo;
-            } catch (Exception e) {
-                errors.add(e.toString());
-            }
-        }
-        String reason = String.join("; ", errors);
-        throw new IOException(reason);
-    }
-
     private List<JavaFileManager.Location> locationList(String[] locations) {
         return Stream.of(locations)
                 .map(StandardLocation::locationFor)
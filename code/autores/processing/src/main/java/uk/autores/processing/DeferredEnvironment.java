@@ -0,0 +1,208 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.*;
+import java.io.*;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processing environment for handlers running off the compiler thread.
+ * Files are created via {@link Filer} immediately so that errors reach the handler
+ * but their contents and messages sent to {@link Messager} are buffered in memory
+ * and replayed on the compiler thread by {@link #commit()}.
+ * Every call into the compiler is made while holding a lock shared with all other instances.
+ *
+ * @see Locked
+ */
+final class DeferredEnvironment extends ForwardingEnvironment {
+
+    private final Object lock;
+    private final List<Action> actions = new ArrayList<>();
+    private final Filer filer = new DeferredFiler();
+    private final Messager messager = new DeferredMessager();
+
+    /**
+     * @param env the real environment
+     * @param lock shared lock for calls into the compiler
+     */
+    DeferredEnvironment(ProcessingEnvironment env, Object lock) {
+        super(env);
+        this.lock = lock;
+    }
+
+    /**
+     * Writes buffered files and messages to the real environment in the order they were made.
+     * Must only be called once the handlers using this instance have finished.
+     *
+     * @throws IOException on error creating or writing a file
+     */
+    void commit() throws IOException {
+        synchronized (lock) {
+            for (Action action : actions) {
+                action.run();
+            }
+            actions.clear();
+        }
+    }
+
+    private synchronized void defer(Action action) {
+        actions.add(action);
+    }
+
+    @Override
+    public Messager getMessager() {
+        return messager;
+    }
+
+    @Override
+    public Filer getFiler() {
+        return filer;
+    }
+
+    @Override
+    public Elements getElementUtils() {
+        return Locked.proxy(Elements.class, env.getElementUtils(), lock);
+    }
+
+    @Override
+    public Types getTypeUtils() {
+        return Locked.proxy(Types.class, env.getTypeUtils(), lock);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws IOException;
+    }
+
+    private final class DeferredFiler implements Filer {
+
+        @Override
+        public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements)
+                throws IOException {
+            Element[] e = Locked.unwrap(originatingElements);
+            synchronized (lock) {
+                return buffer(JavaFileObject.Kind.SOURCE, env.getFiler().createSourceFile(name, e));
+            }
+        }
+
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements)
+                throws IOException {
+            Element[] e = Locked.unwrap(originatingElements);
+            synchronized (lock) {
+                return buffer(JavaFileObject.Kind.CLASS, env.getFiler().createClassFile(name, e));
+            }
+        }
+
+        @Override
+        public FileObject createResource(JavaFileManager.Location location,
+                                         CharSequence moduleAndPkg,
+                                         CharSequence relativeName,
+                                         Element... originatingElements) throws IOException {
+            Element[] e = Locked.unwrap(originatingElements);
+            synchronized (lock) {
+                FileObject target = env.getFiler().createResource(location, moduleAndPkg, relativeName, e);
+                return buffer(JavaFileObject.Kind.OTHER, target);
+            }
+        }
+
+        @Override
+        public FileObject getResource(JavaFileManager.Location location,
+                                      CharSequence moduleAndPkg,
+                                      CharSequence relativeName) throws IOException {
+            synchronized (lock) {
+                return Locked.file(env.getFiler().getResource(location, moduleAndPkg, relativeName), lock);
+            }
+        }
+
+        private Buffer buffer(JavaFileObject.Kind kind, FileObject target) {
+            Buffer buffer = new Buffer(kind);
+            defer(() -> buffer.copyTo(target));
+            return buffer;
+        }
+    }
+
+    private final class DeferredMessager implements Messager {
+
+        @Override
+        public void printMessage(Diagnostic.Kind kind, CharSequence msg) {
+            String m = msg.toString();
+            defer(() -> env.getMessager().printMessage(kind, m));
+        }
+
+        @Override
+        public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e) {
+            String m = msg.toString();
+            Element u = Locked.unwrap(e);
+            defer(() -> env.getMessager().printMessage(kind, m, u));
+        }
+
+        @Override
+        public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a) {
+            String m = msg.toString();
+            Element u = Locked.unwrap(e);
+            defer(() -> env.getMessager().printMessage(kind, m, u, a));
+        }
+
+        @Override
+        public void printMessage(Diagnostic.Kind kind,
+                                 CharSequence msg,
+                                 Element e,
+                                 AnnotationMirror a,
+                                 AnnotationValue v) {
+            String m = msg.toString();
+            Element u = Locked.unwrap(e);
+            defer(() -> env.getMessager().printMessage(kind, m, u, a, v));
+        }
+    }
+
+    /**
+     * In-memory file contents.
+     */
+    private static final class Buffer extends SimpleJavaFileObject {
+        private static final AtomicLong COUNT = new AtomicLong();
+        private ByteArrayOutputStream bytes;
+        private StringWriter chars;
+
+        private Buffer(Kind kind) {
+            super(URI.create("deferred:///" + COUNT.incrementAndGet() + kind.extension), kind);
+        }
+
+        @Override
+        public synchronized OutputStream openOutputStream() {
+            chars = null;
+            bytes = new ByteArrayOutputStream();
+            return bytes;
+        }
+
+        @Override
+        public synchronized Writer openWriter() {
+            bytes = null;
+            chars = new StringWriter();
+            return chars;
+        }
+
+        private synchronized void copyTo(FileObject target) throws IOException {
+            if (bytes != null) {
+                try (OutputStream out = target.openOutputStream()) {
+                    bytes.writeTo(out);
+                }
+            } else if (chars != null) {
+                try (Writer out = target.openWriter()) {
+                    out.append(chars.getBuffer());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import uk.autores.handling.Config;
+import uk.autores.handling.Context;
+import uk.autores.handling.Handler;
+import uk.autores.handling.Resource;
+import uk.autores.processing.handlers.ContentHash;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.tools.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * <p>
+ *     Manifest of handler input fingerprints and the source files generated from them.
+ *     The manifest is read from and written to {@link StandardLocation#SOURCE_OUTPUT}
+ *     alongside the sources it lists so that it is not packaged with the compiled classes.
+ *     Fingerprints include the processor version so upgrading the processor regenerates all output.
+ * </p>
+ * <p>
+ *     When a {@link Handler#deterministic()} handler has the same fingerprint as in the previous compilation
+ *     and the generated sources still exist in {@link StandardLocation#SOURCE_OUTPUT} they are copied
+ *     instead of invoking the handler.
+ * </p>
+ */
+final class Fingerprints {
+
+    /** Manifest name relative to the source output root. */
+    static final String MANIFEST = "META-INF/uk.autores/fingerprints.properties";
+
+    /** Processor version. */
+    static final String VERSION = version();
+    private static final char SEPARATOR = ',';
+
+    private final Properties previous;
+    private final SortedMap<String, String> current = new TreeMap<>();
+    private final Set<Element> originating = new LinkedHashSet<>();
+
+    private Fingerprints(Properties previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the manifest written by the previous compilation, if any.
+     *
+     * @param filer source of the manifest
+     * @return new instance
+     */
+    static Fingerprints load(Filer filer) {
+        Properties props = new Properties();
+        try {
+            FileObject fo = filer.getResource(StandardLocation.SOURCE_OUTPUT, "", MANIFEST);
+            try (Reader reader = new InputStreamReader(fo.openInputStream(), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous compilation
+            props.clear();
+        }
+        return new Fingerprints(props);
+    }
+
+    /**
+     * Invokes the handler unless the output from the previous compilation can be reused.
+     *
+     * @param handler a deterministic handler
+     * @param context the handler context
+     * @throws Exception on error
+     */
+    void handle(Handler handler, Context context) throws Exception {
+        String fingerprint = fingerprint(handler, context);
+        synchronized (this) {
+            originating.add(Locked.unwrap(context.annotated()));
+        }
+        String sources = previous.getProperty(fingerprint);
+        if (sources != null && restore(context, sources)) {
+            record(fingerprint, sources);
+            return;
+        }
+
+        RecordingEnvironment env = new RecordingEnvironment(context.env());
+        Context recorded = context.rebuild()
+                .setEnv(env)
+                .build();
+        handler.handle(recorded);
+        if (env.reusable) {
+            record(fingerprint, String.join(String.valueOf(SEPARATOR), env.sources));
+        }
+    }
+
+    private synchronized void record(String fingerprint, String sources) {
+        current.put(fingerprint, sources);
+    }
+
+    private static boolean restore(Context context, String sources) throws IOException {
+        Filer filer = context.env().getFiler();
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (String qualified : split(sources)) {
+            int dot = qualified.lastIndexOf('.');
+            String pkg = dot < 0 ? "" : qualified.substring(0, dot);
+            String simple = qualified.substring(dot + 1) + JavaFileObject.Kind.SOURCE.extension;
+            try {
+                FileObject fo = filer.getResource(StandardLocation.SOURCE_OUTPUT, pkg, simple);
+                try (InputStream in = fo.openInputStream()) {
+                    files.put(qualified, in.readAllBytes());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // output deleted or cannot be read; regenerate
+                return false;
+            }
+        }
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            JavaFileObject jfo = filer.createSourceFile(file.getKey(), context.annotated());
+            try (OutputStream out = jfo.openOutputStream()) {
+                out.write(file.getValue());
+            }
+        }
+        return true;
+    }
+
+    private static List<String> split(String sources) {
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        while (start < sources.length()) {
+            int end = sources.indexOf(SEPARATOR, start);
+            end = end < 0 ? sources.length() : end;
+            names.add(sources.substring(start, end));
+            start = end + 1;
+        }
+        return names;
+    }
+
+    /**
+     * @param handler handler
+     * @param context handler context
+     * @return hex encoded SHA-256 of the handler inputs including the source version
+     * @throws IOException on error reading resources
+     */
+    static String fingerprint(Handler handler, Context context) throws IOException {
+        MessageDigest md = ContentHash.digest("SHA-256");
+        update(md, VERSION);
+        update(md, handler.getClass().getName());
+        update(md, context.namer().getClass().getName());
+        update(md, context.env().getSourceVersion().name());
+        update(md, context.pkg().toString());
+        update(md, context.annotated().toString());
+        for (Config config : context.config()) {
+            update(md, config.key());
+            update(md, config.value());
+        }
+        for (Resource resource : context.resources()) {
+            update(md, resource.toString());
+            try (InputStream in = resource.open()) {
+                md.update(ContentHash.of(in));
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static void update(MessageDigest md, String value) {
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static String version() {
+        String resource = "version.properties";
+        Properties props = new Properties();
+        try (InputStream in = Objects.requireNonNull(Fingerprints.class.getResourceAsStream(resource), resource)) {
+            props.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return props.getProperty("version");
+    }
+
+    /**
+     * Writes the manifest for this compilation.
+     *
+     * @param filer destination for the manifest
+     * @throws IOException on error
+     */
+    synchronized void write(Filer filer) throws IOException {
+        Element[] elements = originating.toArray(new Element[0]);
+        FileObject fo = filer.createResource(StandardLocation.SOURCE_OUTPUT, "", MANIFEST, elements);
+        try (Writer writer = new OutputStreamWriter(fo.openOutputStream(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : current.entrySet()) {
+                writer.append(entry.getKey())
+                        .append('=')
+                        .append(entry.getValue())
+                        .append('\n');
+            }
+        }
+    }
+
+    /**
+     * Records the source files a handler creates.
+     * Output can only be reused if all output was sources and no messages were printed;
+     * messages would be lost when the output is copied.
+     */
+    private static final class RecordingEnvironment extends ForwardingEnvironment {
+        private final List<String> sources = new ArrayList<>();
+        private boolean reusable = true;
+
+        RecordingEnvironment(ProcessingEnvironment env) {
+            super(env);
+        }
+
+        @Override
+        public Filer getFiler() {
+            Filer filer = env.getFiler();
+            return new Filer() {
+                @Override
+                public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements)
+                        throws IOException {
+                    sources.add(name.toString());
+                    return filer.createSourceFile(name, originatingElements);
+                }
+
+                @Override
+                public JavaFileObject createClassFile(CharSequence name, Element... originatingElements)
+                        throws IOException {
+                    reusable = false;
+                    return filer.createClassFile(name, originatingElements);
+                }
+
+                @Override
+                public FileObject createResource(JavaFileManager.Location location,
+                                                 CharSequence moduleAndPkg,
+                                                 CharSequence relativeName,
+                                                 Element... originatingElements) throws IOException {
+                    reusable = false;
+                    return filer.createResource(location, moduleAndPkg, relativeName, originatingElements);
+                }
+
+                @Override
+                public FileObject getResource(JavaFileManager.Location location,
+                                              CharSequence moduleAndPkg,
+                                              CharSequence relativeName) throws IOException {
+                    return filer.getResource(location, moduleAndPkg, relativeName);
+                }
+            };
+        }
+
+        @Override
+        public Messager getMessager() {
+            Messager messager = env.getMessager();
+            return new Messager() {
+                @Override
+                public void printMessage(Diagnostic.Kind kind, CharSequence msg) {
+                    check();
+                    messager.printMessage(kind, msg);
+                }
+
+                @Override
+                public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e) {
+                    check();
+                    messager.printMessage(kind, msg, e);
+                }
+
+                @Override
+                public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a) {
+                    check();
+                    messager.printMessage(kind, msg, e, a);
+                }
+
+                @Override
+                public void printMessage(Diagnostic.Kind kind,
+                                         CharSequence msg,
+                                         Element e,
+                                         AnnotationMirror a,
+                                         AnnotationValue v) {
+                    check();
+                    messager.printMessage(kind, msg, e, a, v);
+                }
+            };
+        }
+
+        private void check() {
+            reusable = false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Base type for decorating the processing environment handed to handlers.
+ * Subclasses provide the {@link javax.annotation.processing.Filer} and
+ * {@link javax.annotation.processing.Messager}.
+ */
+abstract class ForwardingEnvironment implements ProcessingEnvironment {
+
+    /** The decorated environment. */
+    final ProcessingEnvironment env;
+
+    ForwardingEnvironment(ProcessingEnvironment env) {
+        this.env = env;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return env.getOptions();
+    }
+
+    @Override
+    public Elements getElementUtils() {
+        return env.getElementUtils();
+    }
+
+    @Override
+    public Types getTypeUtils() {
+        return env.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSourceVersion() {
+        return env.getSourceVersion();
+    }
+
+    @Override
+    public Locale getLocale() {
+        return env.getLocale();
+    }
+
+    @Override
+    public boolean isPreviewEnabled() {
+        return env.isPreviewEnabled();
+    }
+}
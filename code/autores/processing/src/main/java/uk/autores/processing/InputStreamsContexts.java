@@ -19,8 +19,8 @@ import java.util.List;
 final class InputStreamsContexts extends ContextFactory<InputStreams, RepeatableInputStreams> {
     private final Handler handler = new GenerateInputStreamsFromFiles();
 
-    InputStreamsContexts(ProcessingEnvironment env) {
-        super(env, InputStreams.class, RepeatableInputStreams.class);
+    InputStreamsContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, InputStreams.class, RepeatableInputStreams.class);
     }
 
     @Override
@@ -0,0 +1,289 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import uk.autores.handling.Context;
+import uk.autores.handling.Handler;
+import uk.autores.handling.Resource;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     Records the cost of each {@link Handler#handle(Context)} call and writes it as a report
+ *     to {@link StandardLocation#CLASS_OUTPUT}.
+ * </p>
+ * <p>
+ *     Each call records the wall time in nanoseconds, the bytes read from each {@link Resource},
+ *     {@link Filer#getResource(javax.tools.JavaFileManager.Location, CharSequence, CharSequence)} probes and misses,
+ *     and the number and size in chars or bytes of generated source files.
+ *     Probes made while resolving annotation resources are totalled separately.
+ * </p>
+ */
+final class Instrumentation {
+
+    /** JSON format. */
+    static final String JSON = "json";
+    /** CSV format; one row per resource. */
+    static final String CSV = "csv";
+    /** Report name relative to the class output root, without extension. */
+    static final String REPORT = "META-INF/uk.autores/report";
+
+    private final String format;
+    private final InstrumentedEnvironment.Counters resolution = new InstrumentedEnvironment.Counters();
+    private final List<Call> calls = new ArrayList<>();
+    private final Set<Element> originating = new LinkedHashSet<>();
+
+    /**
+     * @param format {@link #JSON} or {@link #CSV}
+     */
+    Instrumentation(String format) {
+        this.format = format;
+    }
+
+    /**
+     * @param env the processor environment
+     * @return environment that counts resource resolution probes
+     */
+    ProcessingEnvironment resolving(ProcessingEnvironment env) {
+        return new InstrumentedEnvironment(env, resolution);
+    }
+
+    /**
+     * Starts timing a handler call.
+     *
+     * @param handler the handler
+     * @param context the handler context
+     * @return call to pass to the handler and end when it returns
+     */
+    Call start(Handler handler, Context context) {
+        Call call = new Call(handler, context);
+        synchronized (this) {
+            calls.add(call);
+            originating.add(Locked.unwrap(context.annotated()));
+        }
+        call.start = System.nanoTime();
+        return call;
+    }
+
+    /**
+     * Writes the report.
+     *
+     * @param filer destination
+     * @throws IOException on error
+     */
+    synchronized void write(Filer filer) throws IOException {
+        Element[] elements = originating.toArray(new Element[0]);
+        FileObject fo = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name(), elements);
+        try (Writer writer = new OutputStreamWriter(fo.openOutputStream(), StandardCharsets.UTF_8)) {
+            if (JSON.equals(format)) {
+                json(writer);
+            } else {
+                csv(writer);
+            }
+        }
+    }
+
+    /**
+     * @return report name relative to the class output root
+     */
+    String name() {
+        return REPORT + "." + format;
+    }
+
+    private void json(Writer w) throws IOException {
+        w.append("{\n  \"resolution\": {\"probes\": ").append(Long.toString(resolution.probes.get()))
+                .append(", \"misses\": ").append(Long.toString(resolution.misses.get()))
+                .append("},\n  \"handlers\": [");
+        String callSep = "\n";
+        for (Call call : calls) {
+            InstrumentedEnvironment.Counters c = call.counters;
+            w.append(callSep).append("    {\"annotated\": ");
+            quoteJson(w, call.annotated);
+            w.append(", \"handler\": ");
+            quoteJson(w, call.handler);
+            w.append(", \"nanos\": ").append(Long.toString(call.nanos))
+                    .append(", \"probes\": ").append(Long.toString(c.probes.get()))
+                    .append(", \"misses\": ").append(Long.toString(c.misses.get()))
+                    .append(", \"sources\": ").append(Long.toString(c.sources.get()))
+                    .append(", \"generated\": ").append(Long.toString(c.generated.get()))
+                    .append(", \"resources\": [");
+            String resourceSep = "";
+            for (Read read : call.reads) {
+                w.append(resourceSep).append("{\"name\": ");
+                quoteJson(w, read.name);
+                w.append(", \"read\": ").append(Long.toString(read.bytes.get())).append('}');
+                resourceSep = ", ";
+            }
+            w.append("]}");
+            callSep = ",\n";
+        }
+        w.append(calls.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+    }
+
+    private static void quoteJson(Writer w, String value) throws IOException {
+        w.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                w.append('\\').append(ch);
+            } else if (ch < ' ') {
+                w.append(String.format("\\u%04x", (int) ch));
+            } else {
+                w.append(ch);
+            }
+        }
+        w.append('"');
+    }
+
+    private void csv(Writer w) throws IOException {
+        w.append("annotated,handler,resource,nanos,probes,misses,sources,generated,read\n");
+        w.append(",,,,").append(Long.toString(resolution.probes.get()))
+                .append(',').append(Long.toString(resolution.misses.get()))
+                .append(",,,\n");
+        for (Call call : calls) {
+            if (call.reads.isEmpty()) {
+                csvRow(w, call, "", "");
+            }
+            for (Read read : call.reads) {
+                csvRow(w, call, read.name, Long.toString(read.bytes.get()));
+            }
+        }
+    }
+
+    private static void csvRow(Writer w, Call call, String resource, String read) throws IOException {
+        InstrumentedEnvironment.Counters c = call.counters;
+        quoteCsv(w, call.annotated);
+        w.append(',');
+        quoteCsv(w, call.handler);
+        w.append(',');
+        quoteCsv(w, resource);
+        w.append(',').append(Long.toString(call.nanos))
+                .append(',').append(Long.toString(c.probes.get()))
+                .append(',').append(Long.toString(c.misses.get()))
+                .append(',').append(Long.toString(c.sources.get()))
+                .append(',').append(Long.toString(c.generated.get()))
+                .append(',').append(read)
+                .append('\n');
+    }
+
+    private static void quoteCsv(Writer w, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            w.append(value);
+            return;
+        }
+        w.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * A single handler invocation.
+     */
+    static final class Call {
+        private final String annotated;
+        private final String handler;
+        private final InstrumentedEnvironment.Counters counters = new InstrumentedEnvironment.Counters();
+        private final List<Read> reads = new ArrayList<>();
+        private final Context context;
+        private long start;
+        private long nanos;
+
+        private Call(Handler handler, Context context) {
+            this.annotated = context.annotated().toString();
+            this.handler = handler.getClass().getName();
+            ProcessingEnvironment env = context.env();
+            if (env instanceof InstrumentedEnvironment) {
+                // don't count handler probes as resolution probes
+                env = ((InstrumentedEnvironment) env).env;
+            }
+            List<Resource> resources = new ArrayList<>(context.resources().size());
+            for (Resource resource : context.resources()) {
+                Read read = new Read(resource);
+                reads.add(read);
+                resources.add(new Resource(read, resource.toString()));
+            }
+            this.context = context.rebuild()
+                    .setEnv(new InstrumentedEnvironment(env, counters))
+                    .setResources(resources)
+                    .build();
+        }
+
+        /**
+         * @return the context to pass to the handler
+         */
+        Context context() {
+            return context;
+        }
+
+        /**
+         * Stops timing.
+         */
+        void end() {
+            nanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Counts bytes read from a resource.
+     */
+    private static final class Read implements Resource.ResourceOpener {
+        private final Resource resource;
+        private final String name;
+        private final AtomicLong bytes = new AtomicLong();
+
+        Read(Resource resource) {
+            this.resource = resource;
+            this.name = resource.toString();
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            return new FilterInputStream(resource.open()) {
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    if (b >= 0) {
+                        bytes.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int r = in.read(b, off, len);
+                    if (r > 0) {
+                        bytes.addAndGet(r);
+                    }
+                    return r;
+                }
+            };
+        }
+
+        @Override
+        public long size() throws IOException {
+            return resource.size();
+        }
+
+        @Override
+        public ByteBuffer bytes() throws IOException {
+            ByteBuffer data = resource.bytes();
+            bytes.addAndGet(data.remaining());
+            return data;
+        }
+    }
+}
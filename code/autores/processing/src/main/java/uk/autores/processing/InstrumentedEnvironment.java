@@ -0,0 +1,160 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.*;
+import java.io.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts {@link Filer#getResource(JavaFileManager.Location, CharSequence, CharSequence)} probes
+ * and the size of generated sources.
+ * A probe misses if the lookup throws or the returned file cannot be opened.
+ */
+final class InstrumentedEnvironment extends ForwardingEnvironment {
+
+    private final Counters counters;
+    private final Filer filer;
+
+    InstrumentedEnvironment(ProcessingEnvironment env, Counters counters) {
+        super(env);
+        this.counters = counters;
+        this.filer = new CountingFiler(env.getFiler());
+    }
+
+    @Override
+    public Filer getFiler() {
+        return filer;
+    }
+
+    @Override
+    public Messager getMessager() {
+        return env.getMessager();
+    }
+
+    /** Thread-safe tallies. */
+    static final class Counters {
+        final AtomicLong probes = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong sources = new AtomicLong();
+        final AtomicLong generated = new AtomicLong();
+    }
+
+    private final class CountingFiler implements Filer {
+        private final Filer filer;
+
+        CountingFiler(Filer filer) {
+            this.filer = filer;
+        }
+
+        @Override
+        public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements)
+                throws IOException {
+            JavaFileObject jfo = filer.createSourceFile(name, originatingElements);
+            counters.sources.incrementAndGet();
+            return new SourceFile(jfo);
+        }
+
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements)
+                throws IOException {
+            return filer.createClassFile(name, originatingElements);
+        }
+
+        @Override
+        public FileObject createResource(JavaFileManager.Location location,
+                                         CharSequence moduleAndPkg,
+                                         CharSequence relativeName,
+                                         Element... originatingElements) throws IOException {
+            return filer.createResource(location, moduleAndPkg, relativeName, originatingElements);
+        }
+
+        @Override
+        public FileObject getResource(JavaFileManager.Location location,
+                                      CharSequence moduleAndPkg,
+                                      CharSequence relativeName) throws IOException {
+            counters.probes.incrementAndGet();
+            try {
+                return new ProbedFile(filer.getResource(location, moduleAndPkg, relativeName));
+            } catch (IOException | RuntimeException e) {
+                counters.misses.incrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private final class ProbedFile extends ForwardingFileObject<FileObject> {
+        private boolean missed;
+
+        ProbedFile(FileObject file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            try {
+                return super.openInputStream();
+            } catch (IOException e) {
+                miss();
+                throw e;
+            }
+        }
+
+        private synchronized void miss() {
+            if (!missed) {
+                missed = true;
+                counters.misses.incrementAndGet();
+            }
+        }
+    }
+
+    private final class SourceFile extends ForwardingJavaFileObject<JavaFileObject> {
+        SourceFile(JavaFileObject file) {
+            super(file);
+        }
+
+        @Override
+        public OutputStream openOutputStream() throws IOException {
+            return new FilterOutputStream(super.openOutputStream()) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    counters.generated.incrementAndGet();
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    counters.generated.addAndGet(len);
+                }
+            };
+        }
+
+        @Override
+        public Writer openWriter() throws IOException {
+            return new FilterWriter(super.openWriter()) {
+                @Override
+                public void write(int c) throws IOException {
+                    out.write(c);
+                    counters.generated.incrementAndGet();
+                }
+
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    out.write(cbuf, off, len);
+                    counters.generated.addAndGet(len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    out.write(str, off, len);
+                    counters.generated.addAndGet(len);
+                }
+            };
+        }
+    }
+}
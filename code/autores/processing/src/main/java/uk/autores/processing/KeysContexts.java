@@ -18,8 +18,8 @@ import java.util.List;
 final class KeysContexts extends ContextFactory<Keys, RepeatableKeys> {
     private final Handler handler = new GenerateConstantsFromProperties();
 
-    KeysContexts(ProcessingEnvironment env) {
-        super(env, Keys.class, RepeatableKeys.class);
+    KeysContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, Keys.class, RepeatableKeys.class);
     }
 
     @Override
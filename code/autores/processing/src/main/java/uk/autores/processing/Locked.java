@@ -0,0 +1,226 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import uk.autores.handling.Resource;
+
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.ForwardingFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Decorators for compiler types used by handlers off the compiler thread.
+ * Every call into the compiler is made while holding a lock shared by all handlers.
+ * {@link Element}s returned by decorated types are decorated in turn and are undecorated again
+ * when passed back into the compiler.
+ */
+final class Locked {
+
+    private static final String MODEL_PACKAGE = "javax.lang.model.";
+
+    private Locked() {}
+
+    /**
+     * @param type interface type
+     * @param delegate instance to decorate; may be null
+     * @param lock the lock to hold
+     * @param <T> interface type
+     * @return decorated instance or null
+     */
+    static <T> T proxy(Class<T> type, T delegate, Object lock) {
+        if (delegate == null) {
+            return null;
+        }
+        Object proxy = Proxy.newProxyInstance(Locked.class.getClassLoader(),
+                new Class<?>[] {type},
+                new Invoker(delegate, lock));
+        return type.cast(proxy);
+    }
+
+    /**
+     * The result implements the {@link javax.lang.model} interfaces that the element implements.
+     *
+     * @param element element to decorate
+     * @param lock the lock to hold
+     * @return decorated element
+     */
+    static Element element(Element element, Object lock) {
+        if (element == null || Proxy.isProxyClass(element.getClass())) {
+            return element;
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = element.getClass(); c != null; c = c.getSuperclass()) {
+            modelInterfaces(c, interfaces);
+        }
+        return (Element) Proxy.newProxyInstance(Locked.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]),
+                new Invoker(element, lock));
+    }
+
+    private static void modelInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (i.getName().startsWith(MODEL_PACKAGE)) {
+                interfaces.add(i);
+            }
+            modelInterfaces(i, interfaces);
+        }
+    }
+
+    /**
+     * @param element possibly decorated element
+     * @return the undecorated element
+     */
+    static Element unwrap(Element element) {
+        if (element != null && Proxy.isProxyClass(element.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(element);
+            if (handler instanceof Invoker) {
+                return (Element) ((Invoker) handler).delegate;
+            }
+        }
+        return element;
+    }
+
+    /**
+     * @param elements possibly decorated elements
+     * @return undecorated copy
+     */
+    static Element[] unwrap(Element... elements) {
+        Element[] copy = new Element[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            copy[i] = unwrap(elements[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * @param file file to decorate
+     * @param lock the lock to hold
+     * @return file that opens its contents while holding the lock
+     */
+    static FileObject file(FileObject file, Object lock) {
+        return new LockedFileObject(file, lock);
+    }
+
+    /**
+     * @param resource resource to decorate
+     * @param lock the lock to hold
+     * @return resource that is opened and measured while holding the lock
+     */
+    static Resource resource(Resource resource, Object lock) {
+        return new Resource(new LockedOpener(resource, lock), resource.toString());
+    }
+
+    private static final class Invoker implements InvocationHandler {
+        private final Object delegate;
+        private final Object lock;
+
+        private Invoker(Object delegate, Object lock) {
+            this.delegate = delegate;
+            this.lock = lock;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] unwrapped = args == null ? null : unwrapArgs(args);
+            Object result;
+            synchronized (lock) {
+                try {
+                    result = method.invoke(delegate, unwrapped);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            return result instanceof Element ? element((Element) result, lock) : result;
+        }
+
+        private static Object[] unwrapArgs(Object[] args) {
+            Object[] copy = args.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] instanceof Element) {
+                    copy[i] = unwrap((Element) copy[i]);
+                } else if (copy[i] instanceof Element[]) {
+                    copy[i] = unwrap((Element[]) copy[i]);
+                }
+            }
+            return copy;
+        }
+    }
+
+    private static final class LockedFileObject extends ForwardingFileObject<FileObject> {
+        private final Object lock;
+
+        private LockedFileObject(FileObject file, Object lock) {
+            super(file);
+            this.lock = lock;
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            synchronized (lock) {
+                return super.openInputStream();
+            }
+        }
+
+        @Override
+        public Reader openReader(boolean ignoreEncodingErrors) throws IOException {
+            synchronized (lock) {
+                return super.openReader(ignoreEncodingErrors);
+            }
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+            synchronized (lock) {
+                return super.getCharContent(ignoreEncodingErrors);
+            }
+        }
+
+        @Override
+        public long getLastModified() {
+            synchronized (lock) {
+                return super.getLastModified();
+            }
+        }
+    }
+
+    private static final class LockedOpener implements Resource.ResourceOpener {
+        private final Resource resource;
+        private final Object lock;
+
+        private LockedOpener(Resource resource, Object lock) {
+            this.resource = resource;
+            this.lock = lock;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            synchronized (lock) {
+                return resource.open();
+            }
+        }
+
+        @Override
+        public long size() throws IOException {
+            synchronized (lock) {
+                return resource.size();
+            }
+        }
+
+        @Override
+        public ByteBuffer bytes() throws IOException {
+            synchronized (lock) {
+                return resource.bytes();
+            }
+        }
+    }
+}
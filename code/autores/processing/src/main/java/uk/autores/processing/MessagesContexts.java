@@ -17,8 +17,8 @@ import java.util.List;
 final class MessagesContexts extends ContextFactory<Messages, RepeatableMessages> {
     private final Handler handler = new GenerateMessagesFromProperties();
 
-    MessagesContexts(ProcessingEnvironment env) {
-        super(env, Messages.class, RepeatableMessages.class);
+    MessagesContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, Messages.class, RepeatableMessages.class);
     }
 
     @Override
@@ -0,0 +1,112 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.util.Set;
+
+/**
+ * Compiler options (<code>-Akey=value</code>) understood by {@link ResourceFilesProcessor}.
+ */
+final class Options {
+
+    /**
+     * Number of threads used to run handlers.
+     * When absent or 1 handlers run on the compiler thread.
+     */
+    static final String PARALLELISM = "uk.autores.parallelism";
+    /**
+     * Gradle incremental processing category: "isolating" or "aggregating".
+     * When absent the processor is not incremental because Gradle does not track the resource files it reads.
+     * Use "aggregating" when custom handlers generate files from more than one annotated element.
+     */
+    static final String INCREMENTAL = "uk.autores.incremental";
+    /**
+     * "true" to enable the {@link Fingerprints} manifest.
+     * An incremental processor is aggregating for Gradle as the manifest is derived from every annotated element.
+     */
+    static final String FINGERPRINTS = "uk.autores.fingerprints";
+    /**
+     * "json" or "csv" to write an {@link Instrumentation} report.
+     * An incremental processor is aggregating for Gradle as the report covers every annotated element.
+     */
+    static final String REPORT = "uk.autores.report";
+    /** Gradle isolating processor declaration. */
+    static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+    /** Gradle aggregating processor declaration. */
+    static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
+    private static final String AGGREGATING = "aggregating";
+
+    private Options() {}
+
+    /**
+     * The result includes the Gradle incremental category as the processor is registered as "dynamic"
+     * in META-INF/gradle/incremental.annotation.processors.
+     * Gradle treats a dynamic processor that declares no category as not incremental.
+     *
+     * @param env environment; may be null if not initialized
+     * @return supported options
+     */
+    static Set<String> supported(ProcessingEnvironment env) {
+        if (env == null || !env.getOptions().containsKey(INCREMENTAL)) {
+            return Set.of(PARALLELISM, INCREMENTAL, FINGERPRINTS, REPORT);
+        }
+        String gradle = aggregating(env) ? GRADLE_AGGREGATING : GRADLE_ISOLATING;
+        return Set.of(PARALLELISM, INCREMENTAL, FINGERPRINTS, REPORT, gradle);
+    }
+
+    private static boolean aggregating(ProcessingEnvironment env) {
+        return AGGREGATING.equals(env.getOptions().get(INCREMENTAL)) || fingerprints(env)
+                || env.getOptions().containsKey(REPORT);
+    }
+
+    /**
+     * @param env environment
+     * @return true if the fingerprint manifest is enabled
+     */
+    static boolean fingerprints(ProcessingEnvironment env) {
+        return Boolean.parseBoolean(env.getOptions().get(FINGERPRINTS));
+    }
+
+    /**
+     * @param env environment
+     * @return report format or null if disabled; invalid values are reported as errors and treated as disabled
+     */
+    static String report(ProcessingEnvironment env) {
+        String value = env.getOptions().get(REPORT);
+        if (value == null || Instrumentation.JSON.equals(value) || Instrumentation.CSV.equals(value)) {
+            return value;
+        }
+        String msg = "Invalid option -A" + REPORT + "=" + value
+                + "; expected " + Instrumentation.JSON + " or " + Instrumentation.CSV;
+        env.getMessager()
+                .printMessage(Diagnostic.Kind.ERROR, msg);
+        return null;
+    }
+
+    /**
+     * @param env environment
+     * @return handler thread count; invalid values are reported as errors and treated as 1
+     */
+    static int parallelism(ProcessingEnvironment env) {
+        String value = env.getOptions().get(PARALLELISM);
+        if (value == null) {
+            return 1;
+        }
+        int threads;
+        try {
+            threads = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            threads = 0;
+        }
+        if (threads > 0) {
+            return threads;
+        }
+        String msg = "Invalid option -A" + PARALLELISM + "=" + value + "; expected a positive integer";
+        env.getMessager()
+                .printMessage(Diagnostic.Kind.ERROR, msg);
+        return 1;
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import uk.autores.handling.Context;
+import uk.autores.handling.Resource;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs handlers on a bounded pool of worker threads.
+ * Each annotated element is one task.
+ * Contexts are created on the compiler thread; handlers see a {@link DeferredEnvironment}
+ * that is committed on the compiler thread in submission order so output does not depend on scheduling.
+ * The annotated element and resources in each context are {@link Locked} so all compiler access is serialized.
+ * The pool is started on first use and reused for every round until {@link #close()}.
+ */
+final class ParallelHandlers implements AutoCloseable {
+
+    private final ProcessingEnvironment env;
+    private final Object lock = new Object();
+    private final int threads;
+    private ExecutorService executor;
+    private final List<Task> tasks = new ArrayList<>();
+    private final Fingerprints fingerprints;
+    private final Instrumentation instrumentation;
+
+    ParallelHandlers(ProcessingEnvironment env, int threads, Fingerprints fingerprints, Instrumentation instrumentation) {
+        this.env = env;
+        this.fingerprints = fingerprints;
+        this.instrumentation = instrumentation;
+        this.threads = threads;
+    }
+
+    private static Thread thread(Runnable r) {
+        Thread t = new Thread(r, ParallelHandlers.class.getName());
+        t.setDaemon(true);
+        return t;
+    }
+
+    /**
+     * Queues handlers for execution.
+     *
+     * @param annotated the annotated element
+     * @param pairs contexts and handlers
+     */
+    void submit(Element annotated, List<ContextFactory.Pair> pairs) {
+        DeferredEnvironment deferred = new DeferredEnvironment(env, lock);
+        Element element = Locked.element(annotated, lock);
+        List<ContextFactory.Pair> rebuilt = new ArrayList<>(pairs.size());
+        for (ContextFactory.Pair pair : pairs) {
+            List<Resource> resources = new ArrayList<>(pair.context.resources().size());
+            for (Resource resource : pair.context.resources()) {
+                resources.add(Locked.resource(resource, lock));
+            }
+            Context context = pair.context.rebuild()
+                    .setAnnotated(element)
+                    .setEnv(deferred)
+                    .setResources(resources)
+                    .build();
+            rebuilt.add(new ContextFactory.Pair(context, pair.handler));
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, ParallelHandlers::thread);
+        }
+        Future<?> future = executor.submit(
+                () -> ResourceFilesProcessor.handle(deferred, annotated, rebuilt, fingerprints, instrumentation));
+        tasks.add(new Task(annotated, deferred, future));
+    }
+
+    /**
+     * Waits for queued handlers and writes their output in submission order.
+     */
+    void commit() {
+        for (Task task : tasks) {
+            try {
+                task.future.get();
+                task.deferred.commit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error(task, e);
+                break;
+            } catch (ExecutionException e) {
+                error(task, e.getCause());
+            } catch (Exception e) {
+                error(task, e);
+            }
+        }
+        tasks.clear();
+    }
+
+    private void error(Task task, Throwable t) {
+        env.getMessager()
+                .printMessage(Diagnostic.Kind.ERROR, t.toString(), task.annotated);
+    }
+
+    /**
+     * Stops the worker threads.
+     * Call after the last round.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static final class Task {
+        final Element annotated;
+        final DeferredEnvironment deferred;
+        final Future<?> future;
+
+        Task(Element annotated, DeferredEnvironment deferred, Future<?> future) {
+            this.annotated = annotated;
+            this.deferred = deferred;
+            this.future = future;
+        }
+    }
+}
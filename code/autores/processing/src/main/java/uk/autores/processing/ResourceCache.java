@@ -0,0 +1,261 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import uk.autores.handling.Resource;
+
+import javax.annotation.processing.Filer;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Processor-scoped store of resource contents.
+ * A resource referenced by several annotations, or read by a handler more than once, is read from disk once.
+ * Contents are held while the total stays within a byte budget; least recently used contents are dropped
+ * beyond that and re-read on demand.
+ * Sizes are always retained.
+ * Where resources were found is remembered for the compilation; where they were not, for the round.
+ */
+final class ResourceCache {
+
+    /** Default byte budget. */
+    static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    private final long budget;
+    private final int maxEntry;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Set<String> misses = ConcurrentHashMap.newKeySet();
+    private long used;
+
+    /**
+     * @param budget maximum bytes of content to retain
+     */
+    ResourceCache(long budget) {
+        this.budget = budget;
+        this.maxEntry = (int) Math.min(Integer.MAX_VALUE - 8, budget / 4);
+    }
+
+    /**
+     * <p>
+     *     Finds a resource by trying each location in order.
+     *     Locations known to have, or not have, the resource are not probed again.
+     * </p>
+     * <p>
+     *     The reasons for failure are only collected if the resource is not found.
+     * </p>
+     *
+     * @param filer used to probe locations
+     * @param locations where to search, in order
+     * @param pkg resource package
+     * @param relativeName resource name relative to package
+     * @return opener backed by this cache
+     * @throws IOException if the resource is not found in any location
+     */
+    Resource.ResourceOpener resolve(Filer filer,
+                                    List<JavaFileManager.Location> locations,
+                                    CharSequence pkg,
+                                    CharSequence relativeName) throws IOException {
+        for (JavaFileManager.Location location : locations) {
+            Resource.ResourceOpener opener = probe(filer, location, pkg, relativeName);
+            if (opener != null) {
+                return opener;
+            }
+        }
+        throw notFound(filer, locations, pkg, relativeName);
+    }
+
+    private Resource.ResourceOpener probe(Filer filer,
+                                          JavaFileManager.Location location,
+                                          CharSequence pkg,
+                                          CharSequence relativeName) {
+        String key = key(location, pkg, relativeName);
+        Entry found = found(key);
+        if (found != null) {
+            return found;
+        }
+        if (misses.contains(key)) {
+            return null;
+        }
+        try {
+            FileObject fo = open(filer, location, pkg, relativeName);
+            return opener(location, pkg, relativeName, fo);
+        } catch (Exception e) {
+            misses.add(key);
+            return null;
+        }
+    }
+
+    private static FileObject open(Filer filer,
+                                   JavaFileManager.Location location,
+                                   CharSequence pkg,
+                                   CharSequence relativeName) throws IOException {
+        FileObject fo = filer.getResource(location, pkg, relativeName);
+        try (InputStream is = fo.openInputStream()) {
+            // NOOP; if file can be opened it exists
+            assert is != null;
+        }
+        return fo;
+    }
+
+    private static IOException notFound(Filer filer,
+                                        List<JavaFileManager.Location> locations,
+                                        CharSequence pkg,
+                                        CharSequence relativeName) {
+        // probe again for the reasons; this is the error path
+        Set<String> errors = new LinkedHashSet<>();
+        for (JavaFileManager.Location location : locations) {
+            try {
+                open(filer, location, pkg, relativeName);
+            } catch (Exception e) {
+                errors.add(e.toString());
+            }
+        }
+        return new IOException(String.join("; ", errors));
+    }
+
+    /**
+     * Forgets negative lookups as another processor may have created resources since.
+     */
+    void round() {
+        misses.clear();
+    }
+
+    private synchronized Entry found(String key) {
+        return entries.get(key);
+    }
+
+    private static String key(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName) {
+        return location.getName() + ':' + pkg + '/' + relativeName;
+    }
+
+    /**
+     * Provides a caching opener for a resource.
+     * The same resolved resource always returns the same opener.
+     *
+     * @param location where the resource was resolved
+     * @param pkg resource package
+     * @param relativeName resource name relative to package
+     * @param file the resource
+     * @return opener backed by this cache
+     */
+    synchronized Resource.ResourceOpener opener(JavaFileManager.Location location,
+                                                CharSequence pkg,
+                                                CharSequence relativeName,
+                                                FileObject file) {
+        return entries.computeIfAbsent(key(location, pkg, relativeName), k -> new Entry(k, file));
+    }
+
+    /**
+     * @return bytes of content currently retained
+     */
+    synchronized long used() {
+        return used;
+    }
+
+    private synchronized void admit(Entry entry, ByteBuffer data) {
+        entry.data = data;
+        used += data.capacity();
+        touch(entry);
+        Iterator<Entry> it = entries.values().iterator();
+        while (used > budget && it.hasNext()) {
+            Entry e = it.next();
+            ByteBuffer evicted = e.data;
+            if (e != entry && evicted != null) {
+                used -= evicted.capacity();
+                e.data = null;
+            }
+        }
+    }
+
+    private synchronized void touch(Entry entry) {
+        // most recently used last
+        entries.remove(entry.key);
+        entries.put(entry.key, entry);
+    }
+
+    private final class Entry implements Resource.ResourceOpener {
+        private final String key;
+        private final FileObject file;
+        private volatile long size = -1;
+        private volatile ByteBuffer data;
+
+        private Entry(String key, FileObject file) {
+            this.key = key;
+            this.file = file;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            ByteBuffer d = load();
+            return d == null ? file.openInputStream() : new ByteArrayInputStream(d.array());
+        }
+
+        @Override
+        public long size() throws IOException {
+            long s = size;
+            if (s < 0) {
+                load();
+                s = size;
+            }
+            return s;
+        }
+
+        @Override
+        public ByteBuffer bytes() throws IOException {
+            ByteBuffer d = load();
+            if (d == null) {
+                return Resource.ResourceOpener.super.bytes();
+            }
+            return d.asReadOnlyBuffer();
+        }
+
+        private ByteBuffer load() throws IOException {
+            ByteBuffer d = data;
+            if (d != null) {
+                touch(this);
+                return d;
+            }
+            synchronized (this) {
+                d = data;
+                if (d != null) {
+                    return d;
+                }
+                if (size > maxEntry) {
+                    // known to be too big; don't bother buffering
+                    return null;
+                }
+                d = read();
+                if (d != null) {
+                    admit(this, d);
+                }
+                return d;
+            }
+        }
+
+        private ByteBuffer read() throws IOException {
+            byte[] buf = new byte[(int) Math.min(8 * 1024, maxEntry + 1L)];
+            long total = 0;
+            try (InputStream in = file.openInputStream()) {
+                while (total <= Integer.MAX_VALUE) {
+                    if (total == buf.length && total <= maxEntry) {
+                        buf = Arrays.copyOf(buf, (int) Math.min(maxEntry + 1L, 2L * buf.length));
+                    }
+                    int off = total < buf.length ? (int) total : 0;
+                    int r = in.read(buf, off, buf.length - off);
+                    if (r < 0) {
+                        break;
+                    }
+                    total += r;
+                }
+            }
+            size = total;
+            return total <= maxEntry ? ByteBuffer.wrap(Arrays.copyOf(buf, (int) total)) : null;
+        }
+    }
+}
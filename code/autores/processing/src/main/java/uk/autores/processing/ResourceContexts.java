@@ -13,8 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 final class ResourceContexts extends ContextFactory<ResourceFiles, RepeatableResources> {
-    ResourceContexts(ProcessingEnvironment env) {
-        super(env, ResourceFiles.class, RepeatableResources.class);
+    ResourceContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, ResourceFiles.class, RepeatableResources.class);
     }
 
     @Override
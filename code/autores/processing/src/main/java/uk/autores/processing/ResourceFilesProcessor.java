@@ -15,6 +15,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
+import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -36,9 +37,35 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
           TextsContexts.def(),
   };
 
+  private final ResourceCache cache = new ResourceCache(ResourceCache.DEFAULT_BUDGET);
+  private Fingerprints fingerprints;
+  private Instrumentation instrumentation;
+  private ParallelHandlers parallel;
+
   /** Public constructor as per contract */
   public ResourceFilesProcessor() {}
 
+  /**
+   * Initializes the processor.
+   *
+   * @param processingEnv environment to access facilities the tool framework provides to the processor
+   */
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    int parallelism = Options.parallelism(processingEnv);
+    if (Options.fingerprints(processingEnv)) {
+      fingerprints = Fingerprints.load(processingEnv.getFiler());
+    }
+    String report = Options.report(processingEnv);
+    if (report != null) {
+      instrumentation = new Instrumentation(report);
+    }
+    if (parallelism > 1) {
+      parallel = new ParallelHandlers(processingEnv, parallelism, fingerprints, instrumentation);
+    }
+  }
+
   /**
    * Returns {@link ProcessingEnvironment#getSourceVersion()} or
    * the minimum {@link SourceVersion#RELEASE_11}.
@@ -64,6 +91,16 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
             .collect(toSet());
   }
 
+  /**
+   * Options are listed in the <a href="https://autores.uk/#options">documentation</a>.
+   *
+   * @return supported <code>-A</code> compiler option keys
+   */
+  @Override
+  public Set<String> getSupportedOptions() {
+    return Options.supported(processingEnv);
+  }
+
   /**
    * Consumes {@link ResourceFiles} and {@link RepeatableResources} and passes derived information to the
    * specified {@link Handler}.
@@ -74,6 +111,7 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
    */
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    cache.round();
     List<ContextFactory<?, ?>> factories = contextFactories();
 
     boolean consumed = false;
@@ -84,11 +122,26 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
         processAnnotation(factories, annotation, annotated);
       }
     }
+    if (parallel != null) {
+      parallel.commit();
+      if (roundEnv.processingOver()) {
+        parallel.close();
+      }
+    }
+
+    if (roundEnv.processingOver() && fingerprints != null) {
+      writeFingerprints();
+    }
+    if (roundEnv.processingOver() && instrumentation != null) {
+      writeReport();
+    }
 
     return consumed;
   }
 
-  private void processAnnotation(List<ContextFactory<?, ?>> factories, TypeElement annotation, Element annotated) {
+  private void processAnnotation(List<ContextFactory<?, ?>> factories,
+                                 TypeElement annotation,
+                                 Element annotated) {
     for (ContextFactory<?, ?> factory : factories) {
       Name name = annotation.getQualifiedName();
       if (factory.supported(name)) {
@@ -99,8 +152,28 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
   }
 
   private void processResources(Name name, Element annotated, ContextFactory<?, ?> factory) {
+    List<ContextFactory.Pair> pairs;
     try {
-      for (ContextFactory.Pair pair : factory.contexts(name, annotated)) {
+      pairs = factory.contexts(name, annotated);
+    } catch (Exception e) {
+      processingEnv.getMessager()
+              .printMessage(Diagnostic.Kind.ERROR, e.toString(), annotated);
+      return;
+    }
+    if (parallel == null) {
+      handle(processingEnv, annotated, pairs, fingerprints, instrumentation);
+    } else {
+      parallel.submit(annotated, pairs);
+    }
+  }
+
+  static void handle(ProcessingEnvironment env,
+                     Element annotated,
+                     List<ContextFactory.Pair> pairs,
+                     Fingerprints fingerprints,
+                     Instrumentation instrumentation) {
+    try {
+      for (ContextFactory.Pair pair : pairs) {
         Handler handler = pair.handler;
         Context context = pair.context;
 
@@ -108,17 +181,53 @@ public final class ResourceFilesProcessor extends AbstractProcessor {
           return;
         }
 
-        handler.handle(context);
+        if (instrumentation == null) {
+          handle(handler, context, fingerprints);
+          continue;
+        }
+        Instrumentation.Call call = instrumentation.start(handler, context);
+        try {
+          handle(handler, call.context(), fingerprints);
+        } finally {
+          call.end();
+        }
       }
     } catch (Exception e) {
-      processingEnv.getMessager()
+      env.getMessager()
               .printMessage(Diagnostic.Kind.ERROR, e.toString(), annotated);
     }
   }
 
+  private static void handle(Handler handler, Context context, Fingerprints fingerprints) throws Exception {
+    if (fingerprints != null && handler.deterministic()) {
+      fingerprints.handle(handler, context);
+    } else {
+      handler.handle(context);
+    }
+  }
+
+  private void writeFingerprints() {
+    try {
+      fingerprints.write(processingEnv.getFiler());
+    } catch (IOException e) {
+      processingEnv.getMessager()
+              .printMessage(Diagnostic.Kind.ERROR, "Failed to write " + Fingerprints.MANIFEST + ": " + e);
+    }
+  }
+
+  private void writeReport() {
+    try {
+      instrumentation.write(processingEnv.getFiler());
+    } catch (IOException e) {
+      processingEnv.getMessager()
+              .printMessage(Diagnostic.Kind.ERROR, "Failed to write " + instrumentation.name() + ": " + e);
+    }
+  }
+
   private List<ContextFactory<?, ?>> contextFactories() {
+    ProcessingEnvironment env = instrumentation == null ? processingEnv : instrumentation.resolving(processingEnv);
     return Stream.of(defs)
-            .map(d -> d.factory.create(processingEnv))
+            .map(d -> d.factory.create(env, cache))
             .collect(toList());
   }
 }
@@ -17,8 +17,8 @@ import java.util.List;
 final class TextsContexts extends ContextFactory<Texts, RepeatableTexts> {
     private final Handler handler = new GenerateStringsFromText();
 
-    TextsContexts(ProcessingEnvironment env) {
-        super(env, Texts.class, RepeatableTexts.class);
+    TextsContexts(ProcessingEnvironment env, ResourceCache cache) {
+        super(env, cache, Texts.class, RepeatableTexts.class);
     }
 
     @Override
@@ -38,6 +38,18 @@ final class TextsContexts extends ContextFactory<Texts, RepeatableTexts> {
         }
         cfg.add(new Config(CfgStrategy.STRATEGY, byteArrayResources.strategy().token()));
         cfg.add(new Config(CfgEncoding.ENCODING, byteArrayResources.encoding()));
+        if (byteArrayResources.streams()) {
+            cfg.add(new Config(CfgStreams.STREAMS, CfgStreams.TRUE));
+        }
+        if (byteArrayResources.readers()) {
+            cfg.add(new Config(CfgReaders.READERS, CfgReaders.TRUE));
+        }
+        if (byteArrayResources.lines()) {
+            cfg.add(new Config(CfgLines.LINES, CfgLines.TRUE));
+        }
+        if (byteArrayResources.preload()) {
+            cfg.add(new Config(CfgPreload.PRELOAD, CfgPreload.TRUE));
+        }
         return cfg;
     }
 
@@ -0,0 +1,51 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import uk.autores.BufferType;
+import uk.autores.ResourceFiles;
+import uk.autores.handling.ConfigDef;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "buffer": whether to generate {@link java.nio.ByteBuffer} accessors.
+ * <ul>
+ *     <li>"none": no buffer accessors</li>
+ *     <li>"heap": read-only views of a single heap copy</li>
+ *     <li>"mapped": read-only views of a memory-mapped file where possible; otherwise as "heap"</li>
+ *     <li>"direct": read-only views of a single copy outside the heap</li>
+ * </ul>
+ */
+public final class CfgBuffer {
+
+    /** Key */
+    public static final String BUFFER = "buffer";
+
+    /** Value */
+    public static final String NONE = "none";
+    /** Value */
+    public static final String HEAP = "heap";
+    /** Value */
+    public static final String MAPPED = "mapped";
+    /** Value */
+    public static final String DIRECT = "direct";
+
+    private static final String REGEX = regex();
+
+    /**
+     * Config definition.
+     * @see ConfigDef
+     * @see ResourceFiles#config()
+     */
+    public static final ConfigDef DEF = new ConfigDef(BUFFER, s -> s.matches(REGEX));
+
+    private CfgBuffer() {}
+
+    private static String regex() {
+        return Stream.of(BufferType.values())
+                .map(BufferType::token)
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import uk.autores.ArrayType;
+import uk.autores.ResourceFiles;
+import uk.autores.handling.ConfigDef;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "elements": whether to generate primitive array accessors and of what type.
+ * <ul>
+ *     <li>"none": no array accessors</li>
+ *     <li>"short", "char", "int", "long", "float", "double": accessors returning arrays of that type</li>
+ * </ul>
+ * @see CfgOrder
+ */
+public final class CfgElements {
+
+    /** Key */
+    public static final String ELEMENTS = "elements";
+
+    /** Value */
+    public static final String NONE = "none";
+    /** Value */
+    public static final String SHORT = "short";
+    /** Value */
+    public static final String CHAR = "char";
+    /** Value */
+    public static final String INT = "int";
+    /** Value */
+    public static final String LONG = "long";
+    /** Value */
+    public static final String FLOAT = "float";
+    /** Value */
+    public static final String DOUBLE = "double";
+
+    private static final String REGEX = regex();
+
+    /**
+     * Config definition.
+     * @see ConfigDef
+     * @see ResourceFiles#config()
+     */
+    public static final ConfigDef DEF = new ConfigDef(ELEMENTS, s -> s.matches(REGEX));
+
+    private CfgElements() {}
+
+    private static String regex() {
+        return Stream.of(ArrayType.values())
+                .map(ArrayType::token)
+                .collect(Collectors.joining("|"));
+    }
+}
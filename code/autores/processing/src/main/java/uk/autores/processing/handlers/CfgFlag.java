@@ -0,0 +1,38 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import uk.autores.handling.ConfigDef;
+import uk.autores.handling.Context;
+
+/**
+ * Shared definition of options that are "true" or "false".
+ */
+final class CfgFlag {
+
+    static final String TRUE = "true";
+    static final String FALSE = "false";
+
+    private CfgFlag() {}
+
+    /**
+     * @param key option key
+     * @return definition accepting {@link #TRUE} or {@link #FALSE}
+     */
+    static ConfigDef def(String key) {
+        return new ConfigDef(key, CfgFlag::valid);
+    }
+
+    /**
+     * @param context handler context
+     * @param def flag definition
+     * @return true if the option is set to {@link #TRUE}
+     */
+    static boolean enabled(Context context, ConfigDef def) {
+        return context.option(def).map(TRUE::equals).orElse(false);
+    }
+
+    private static boolean valid(String value) {
+        return TRUE.equals(value) || FALSE.equals(value);
+    }
+}
@@ -0,0 +1,29 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import uk.autores.ResourceFiles;
+import uk.autores.handling.ConfigDef;
+
+/**
+ * "lines": whether to generate line accessors. "true" or "false".
+ */
+public final class CfgLines {
+
+    /** Key */
+    public static final String LINES = "lines";
+
+    /** Value */
+    public static final String TRUE = CfgFlag.TRUE;
+    /** Value */
+    public static final String FALSE = CfgFlag.FALSE;
+
+    /**
+     * Config definition.
+     * @see ConfigDef
+     * @see ResourceFiles#config()
+     */
+    public static final ConfigDef DEF = CfgFlag.def(LINES);
+
+    private CfgLines() {}
+}
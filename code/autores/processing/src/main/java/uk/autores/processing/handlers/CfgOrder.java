@@ -0,0 +1,41 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import uk.autores.Endian;
+import uk.autores.ResourceFiles;
+import uk.autores.handling.ConfigDef;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "order": byte order of {@link CfgElements} values. "big" or "little".
+ */
+public final class CfgOrder {
+
+    /** Key */
+    public static final String ORDER = "order";
+
+    /** Value */
+    public static final String BIG = "big";
+    /** Value */
+    public static final String LITTLE = "little";
+
+    private static final String REGEX = regex();
+
+    /**
+     * Config definition.
+     * @see ConfigDef
+     * @see ResourceFiles#config()
+     */
+    public static final ConfigDef DEF = new ConfigDef(ORDER, s -> s.matches(REGEX));
+
+    private CfgOrder() {}
+
+    private static String regex() {
+        return Stream.of(Endian.values())
+                .map(Endian::token)
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -16,6 +16,8 @@ import java.util.stream.Stream;
  *     <li>"const": embed in class file constant pool</li>
  *     <li>"lazy": load resources using {@link ClassLoader}</li>
  *     <li>"auto": use some heuristic to decide loading strategy</li>
+ *     <li>"memo": build the data once and reuse it for each call; see {@link Strategy#MEMO}</li>
+ *     <li>"compressed": embed deflated data in class file constant pool</li>
  * </ul>
  */
 public final class CfgStrategy {
@@ -31,6 +33,10 @@ public final class CfgStrategy {
     public static final String LAZY = "lazy";
     /** Value */
     public static final String CONST = "const";
+    /** Value */
+    public static final String MEMO = "memo";
+    /** Value */
+    public static final String COMPRESSED = "compressed";
 
     private static final String REGEX = regex();
 
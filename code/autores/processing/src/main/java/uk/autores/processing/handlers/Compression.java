@@ -0,0 +1,151 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Support for the {@link CfgStrategy#COMPRESSED} strategy.
+ * Data is deflated at build time and embedded as ISO-8859-1 string constants.
+ * Generated code inflates it into an array of the size recorded at build time.
+ */
+final class Compression {
+
+    private Compression() {}
+
+    /**
+     * @param in data source
+     * @return deflated data
+     * @throws IOException on I/O error
+     */
+    static Deflated deflate(InputStream in) throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+            in.transferTo(out);
+            out.close();
+            return new Deflated(deflated.toByteArray(), deflater.getBytesRead());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param in text source
+     * @return text deflated as UTF-8
+     * @throws IOException on I/O error
+     */
+    static Deflated deflate(Reader in) throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (Writer writer = new OutputStreamWriter(new DeflaterOutputStream(deflated, deflater), StandardCharsets.UTF_8)) {
+            in.transferTo(writer);
+            writer.close();
+            return new Deflated(deflated.toByteArray(), deflater.getBytesRead());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes an expression of type <code>byte[]</code> that inflates the data.
+     *
+     * @param writer destination
+     * @param deflated data
+     * @return number of string constants written
+     * @throws IOException on I/O error
+     */
+    static int writeInflate(JavaWriter writer, Deflated deflated) throws IOException {
+        writer.append("inflate$(new java.lang.String[] {");
+        int constCount = 0;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(deflated.data), StandardCharsets.ISO_8859_1);
+             BufferedReader br = new BufferedReader(reader, 0xFFFF)) {
+            ModifiedUtf8Buffer buf = new ModifiedUtf8Buffer();
+            String delim = "";
+            while (buf.receive(br)) {
+                writer.append(delim);
+                writer.multilineString(buf);
+                constCount++;
+                delim = ",";
+            }
+        }
+        writer.append("}, ").append(deflated.data.length).append(", ").append((int) deflated.size).append(")");
+        return constCount;
+    }
+
+    /**
+     * Writes a {@link Streams#chunkCase(JavaWriter, int)} for each constant.
+     *
+     * @param writer destination
+     * @param deflated data
+     * @throws IOException on I/O error
+     */
+    static void writeChunkCases(JavaWriter writer, Deflated deflated) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(deflated.data), StandardCharsets.ISO_8859_1);
+             BufferedReader br = new BufferedReader(reader, 0xFFFF)) {
+            ModifiedUtf8Buffer buf = new ModifiedUtf8Buffer();
+            for (int i = 0; buf.receive(br); i++) {
+                Streams.chunkCase(writer, i);
+                writer.append("(");
+                writer.multilineString(buf);
+                writer.append(").getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);").nl();
+            }
+        }
+    }
+
+    /**
+     * Writes the <code>inflate$</code> method used by {@link #writeInflate(JavaWriter, Deflated)}.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void writeUtilityInflate(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent()
+                .append("private static byte[] inflate$(java.lang.String[] parts, int deflated, int size) ")
+                .openBrace().nl();
+        writer.indent().append("byte[] input = new byte[deflated];").nl();
+        writer.indent().append("int off = 0;").nl();
+        writer.indent().append("for (java.lang.String part : parts) ").openBrace().nl();
+        writer.indent().append("byte[] b = part.getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);").nl();
+        writer.indent().append("java.lang.System.arraycopy(b, 0, input, off, b.length);").nl();
+        writer.indent().append("off += b.length;").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("byte[] barr = new byte[size];").nl();
+        writer.indent().append("java.util.zip.Inflater inflater = new java.util.zip.Inflater();").nl();
+        writer.indent().append("try ").openBrace().nl();
+        writer.indent().append("inflater.setInput(input);").nl();
+        writer.indent().append("int n = 0;").nl();
+        writer.indent().append("while (n < size) ").openBrace().nl();
+        writer.indent().append("int r = inflater.inflate(barr, n, size - n);").nl();
+        writer.indent().append("if (r == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) { break; }").nl();
+        writer.indent().append("n += r;").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("if (n != size || inflater.inflate(new byte[1]) != 0 || !inflater.finished()) ").openBrace().nl();
+        writer.indent().append("throw new java.lang.AssertionError(\"Corrupt data\");").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().append(" catch (java.util.zip.DataFormatException e) ").openBrace().nl();
+        writer.indent().append("throw new java.lang.AssertionError(e);").nl();
+        writer.closeBrace().append(" finally ").openBrace().nl();
+        writer.indent().append("inflater.end();").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return barr;").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Compressed data and its inflated size.
+     */
+    static final class Deflated {
+        final byte[] data;
+        final long size;
+
+        Deflated(byte[] data, long size) {
+            this.data = data;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identifies resources with identical content so that a generated class embeds the data once
+ * and so that unchanged handler inputs can be recognised between compilations.
+ * Hashes are {@link ByteBuffer}s so that they can be used as map keys.
+ */
+public final class ContentHash {
+
+    private ContentHash() {}
+
+    /**
+     * Reads the stream to the end.
+     *
+     * @param in resource data; not closed
+     * @return SHA-256 of the remaining data
+     * @throws IOException on I/O error
+     */
+    public static ByteBuffer of(InputStream in) throws IOException {
+        DigestInputStream digesting = digesting(in);
+        digesting.transferTo(OutputStream.nullOutputStream());
+        return of(digesting);
+    }
+
+    /**
+     * @param in resource data
+     * @return stream that hashes the data read through it
+     */
+    static DigestInputStream digesting(InputStream in) {
+        return new DigestInputStream(in, digest("SHA-256"));
+    }
+
+    /**
+     * @param in stream that has been read to the end
+     * @return SHA-256 of the data read
+     */
+    static ByteBuffer of(DigestInputStream in) {
+        return ByteBuffer.wrap(in.getMessageDigest().digest());
+    }
+
+    /**
+     * @param algorithm digest name
+     * @return new digest
+     */
+    public static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM must support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Formatters used by generated message methods.
+ *     Each distinct formatter is created once per {@link java.util.Locale} and held in a
+ *     {@link java.util.concurrent.ConcurrentHashMap} or, if it does not depend on the locale,
+ *     a nested holder class.
+ *     Message methods get formatters from generated <code>format$N</code> methods.
+ * </p>
+ * <p>
+ *     At most {@link #LOCALES} locales are cached for each formatter so that arbitrary caller locales
+ *     cannot grow the maps without bound; formatters for further locales are created for each call.
+ * </p>
+ * <p>
+ *     Mutable formats like {@link java.text.NumberFormat} are held as prototypes and cloned for each use;
+ *     cloning is cheaper than locale provider lookup and pattern parsing.
+ *     Nothing is held per thread so this is safe for virtual threads.
+ *     Immutable {@link java.time.format.DateTimeFormatter}s are shared.
+ * </p>
+ */
+final class FormatCache {
+
+    /** Maximum locales cached per formatter. */
+    static final int LOCALES = 32;
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Ctor.
+     */
+    FormatCache() {}
+
+    /**
+     * @param type formatter type
+     * @param factory expression that creates the formatter for the locale <code>x</code>
+     * @param mutable true to clone the cached formatter for each use
+     * @return expression that gets the formatter for the locale <code>l</code>
+     */
+    String localized(String type, String factory, boolean mutable) {
+        return "format$" + index(type, factory, true, mutable) + "(l)";
+    }
+
+    /**
+     * @param type formatter type
+     * @param factory expression that creates the formatter
+     * @return expression that gets a copy of the formatter
+     */
+    String prototype(String type, String factory) {
+        return "format$" + index(type, factory, false, true) + "()";
+    }
+
+    private int index(String type, String factory, boolean localized, boolean mutable) {
+        String key = type + " " + factory;
+        return indices.computeIfAbsent(key, k -> {
+            entries.add(new Entry(type, factory, localized, mutable));
+            return entries.size() - 1;
+        });
+    }
+
+    /**
+     * @param value string
+     * @return Java string literal
+     */
+    static String literal(String value) {
+        StringWriter w = new StringWriter();
+        w.append('"');
+        try {
+            StringLiterals.write(value, w);
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return w.append('"').toString();
+    }
+
+    /**
+     * Writes the caches and <code>format$N</code> methods.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    void write(JavaWriter writer) throws IOException {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            String cache = "FORMAT$" + i;
+            String get;
+
+            writer.nl();
+            if (e.localized) {
+                writer.indent()
+                        .append("private static final java.util.Map<java.util.Locale, ").append(e.type).append("> ")
+                        .append(cache)
+                        .append(" = new java.util.concurrent.ConcurrentHashMap<>();").nl();
+                get = "f";
+            } else {
+                writer.indent().append("private static final class ").append(cache).append(" ").openBrace().nl();
+                writer.indent().append("static final ").append(e.type).append(" PROTOTYPE = ").append(e.factory).append(";").nl();
+                writer.closeBrace().nl();
+                get = cache + ".PROTOTYPE";
+            }
+
+            writer.nl();
+            writer.indent().append("private static ").append(e.type).append(" format$").append(i)
+                    .append(e.localized ? "(java.util.Locale l) " : "() ").openBrace().nl();
+            if (e.localized) {
+                writeLookup(writer, e, cache);
+            }
+            if (e.mutable) {
+                writer.indent().append("return (").append(e.type).append(") ").append(get).append(".clone();").nl();
+            } else {
+                writer.indent().append("return ").append(get).append(";").nl();
+            }
+            writer.closeBrace().nl();
+        }
+    }
+
+    private static void writeLookup(JavaWriter writer, Entry e, String cache) throws IOException {
+        writer.indent().append(e.type).append(" f = ").append(cache).append(".get(l);").nl();
+        writer.indent().append("if (f == null) ").openBrace().nl();
+        writer.indent().append("java.util.Locale x = l;").nl();
+        writer.indent().append("f = ").append(e.factory).append(";").nl();
+        writer.indent().append("if (").append(cache).append(".size() < ").append(LOCALES).append(") ").openBrace().nl();
+        writer.indent().append(cache).append(".putIfAbsent(x, f);").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+    }
+
+    private static final class Entry {
+        final String type;
+        final String factory;
+        final boolean localized;
+        final boolean mutable;
+
+        Entry(String type, String factory, boolean localized, boolean mutable) {
+            this.type = type;
+            this.factory = factory;
+            this.localized = localized;
+            this.mutable = mutable;
+        }
+    }
+}
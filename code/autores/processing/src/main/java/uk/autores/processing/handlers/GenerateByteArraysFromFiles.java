@@ -9,9 +9,20 @@ import uk.autores.naming.Namer;
 import javax.annotation.processing.Filer;
 import javax.tools.JavaFileObject;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -23,6 +34,55 @@ import java.util.Set;
  *     as a new byte array.
  * </p>
  * <p>
+ *     When {@link CfgBuffer} is set a method with the suffix <code>Buffer</code> is generated for each resource.
+ *     It returns a read-only {@link java.nio.ByteBuffer} view of a single lazily initialized copy.
+ *     With {@link CfgBuffer#MAPPED} the resource is resolved with {@link Class#getResource(String)}
+ *     and mapped with {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)}
+ *     if it is a <code>file:</code> URL; otherwise it is copied to the heap.
+ *     With {@link CfgBuffer#DIRECT} the data is copied to a direct buffer.
+ *     Resources that are loaded from the classpath are read into it without an intermediate array.
+ * </p>
+ * <p>
+ *     When {@link CfgElements} is set a method returning a new primitive array is generated for each resource.
+ *     For "int" and resource method <code>foo()</code> this is <code>int[] fooInts()</code>.
+ *     Values are decoded in the {@link CfgOrder} byte order with a single bulk copy from
+ *     the buffer, the memoized array or a fresh copy of the data, in that order of preference.
+ *     The resource size must be a multiple of the element size.
+ * </p>
+ * <p>
+ *     When {@link CfgStreams} is "true" streaming accessors are generated for each resource.
+ *     See {@link Streams}.
+ * </p>
+ * <p>
+ *     The {@link CfgStrategy#CONST} strategy encodes data as string constants in one of two ways.
+ *     Each byte may be stored as a <code>char</code> in the range 0-255 and decoded with
+ *     {@link String#getBytes(java.nio.charset.Charset)} using ISO-8859-1.
+ *     This decodes faster because it copies the compact string's Latin-1 storage.
+ *     Alternatively, byte pairs may be packed into each <code>char</code> and decoded with a loop.
+ *     Data with many zero bytes (UTF-16 text, for example) can be much smaller in the constant pool this way.
+ *     ISO-8859-1 is used unless byte pairs are more than 20% smaller.
+ * </p>
+ * <p>
+ *     Large {@link CfgStrategy#INLINE} and {@link CfgStrategy#CONST} resources are spread across
+ *     nested classes, each with its own constant pool, so size is limited only by {@link Integer#MAX_VALUE}.
+ *     The accessor calls each nested class in turn to fill the array.
+ * </p>
+ * <p>
+ *     The {@link CfgStrategy#COMPRESSED} strategy embeds deflated data and inflates it on each call.
+ * </p>
+ * <p>
+ *     The {@link CfgStrategy#MEMO} strategy builds each array once on first use and returns clones of it.
+ * </p>
+ * <p>
+ *     When {@link CfgPreload} is "true" resources that would be loaded from the classpath on every call
+ *     are memoized instead and <code>preload</code> methods are generated for the memoized arrays.
+ *     See {@link Preload}.
+ * </p>
+ * <p>
+ *     Resources with identical content are embedded once.
+ *     The methods for later resources call the methods of the first.
+ * </p>
+ * <p>
  *     Resource files over {@link Integer#MAX_VALUE} in size will result in an error during compilation.
  * </p>
  */
@@ -47,6 +107,31 @@ public class GenerateByteArraysFromFiles implements Handler {
      */
     private static final int MAX_BYTES_PER_METHOD = 65535 / 8;
 
+    /**
+     * Fill methods per spill class.
+     * Larger {@link CfgStrategy#INLINE} resources are spread across nested classes
+     * so that no class exceeds the constant pool or method size limits.
+     */
+    private static final int FILLS_PER_CLASS = 32;
+    /**
+     * String constants per spill class.
+     * Each constant holds at most 64KiB of modified UTF-8.
+     */
+    private static final int CONSTS_PER_CLASS = 32;
+    /**
+     * {@link CfgStrategy#CONST} resources larger than this are spread across nested classes.
+     */
+    private static final int CONST_SPILL_BYTES = 1 << 20;
+    /**
+     * {@link CfgStrategy#AUTO} loads resources larger than this from the classpath.
+     */
+    private static final int AUTO_EMBED_BYTES = 0xFFFF;
+    /**
+     * Resources up to this size are kept in memory between generation steps.
+     * Larger resources are read again by each step so that memory use does not grow with resource size.
+     */
+    private static final int RETAIN_BYTES = CONST_SPILL_BYTES;
+
     /** Ctor */
     public GenerateByteArraysFromFiles() {}
 
@@ -57,11 +142,22 @@ public class GenerateByteArraysFromFiles implements Handler {
     /**
      * Supported config.
      *
-     * @return visibility, strategy, name
+     * @return visibility, strategy, name, buffer, streams, preload, elements, order
      */
     @Override
     public Set<ConfigDef> config() {
-        return Sets.of(CfgVisibility.DEF, CfgStrategy.DEF, CfgName.DEF);
+        return Sets.of(CfgVisibility.DEF, CfgStrategy.DEF, CfgName.DEF, CfgBuffer.DEF, CfgStreams.DEF, CfgPreload.DEF,
+                CfgElements.DEF, CfgOrder.DEF);
+    }
+
+    /**
+     * Output depends only on the context.
+     *
+     * @return true
+     */
+    @Override
+    public boolean deterministic() {
+        return true;
     }
 
     @Override
@@ -78,7 +174,12 @@ public class GenerateByteArraysFromFiles implements Handler {
         }
 
         String strategy = context.option(CfgStrategy.DEF).orElse(CfgStrategy.AUTO);
+        String buffer = context.option(CfgBuffer.DEF).orElse(CfgBuffer.NONE);
         GenerationState gs = new GenerationState();
+        gs.streams = CfgFlag.enabled(context, CfgStreams.DEF);
+        gs.preload = CfgFlag.enabled(context, CfgPreload.DEF);
+        gs.elements = context.option(CfgElements.DEF).orElse(CfgElements.NONE);
+        gs.order = context.option(CfgOrder.DEF).orElse(CfgOrder.BIG);
 
         String qualifiedName = context.pkg().qualifiedClassName(className);
 
@@ -88,46 +189,413 @@ public class GenerateByteArraysFromFiles implements Handler {
              Writer escaper = new UnicodeEscapeWriter(out);
              JavaWriter writer = new JavaWriter(this, context, escaper, className, "")) {
 
+            Map<ByteBuffer, String> written = new HashMap<>();
             for (Resource resource : context.resources()) {
                 String name = Naming.member(context, resource);
-                FileStats stats = stats(gs, resource, name);
+                FileStats stats = stats(resource, name, strategy);
 
-                write(context, strategy, gs, stats, writer);
+                ByteBuffer hash = Namer.isIdentifier(name) ? stats.hash : null;
+                String original = hash == null ? null : written.get(hash);
+                if (original != null) {
+                    writeDelegates(buffer, gs, stats, original, writer);
+                } else if (write(context, strategy, buffer, gs, stats, writer) && hash != null) {
+                    written.put(hash, name);
+                }
             }
 
+            if (gs.preload) {
+                boolean virtual = Preload.virtualThreads(context.env().getSourceVersion());
+                Preload.writeMethods(writer, className, gs.memos, virtual);
+            }
             if (gs.needDecodeMethod) {
                 writeUtilityDecode(writer);
             }
+            if (gs.needLatin1Method) {
+                writeUtilityLatin1(writer);
+            }
             if (gs.needsLoadMethod) {
                 writeUtilityLoad(writer);
             }
+            if (gs.needsMapMethod) {
+                writeUtilityMap(writer);
+            }
+            if (gs.needsDirectMethod) {
+                writeUtilityDirect(writer);
+            }
+            if (gs.needsInflateMethod) {
+                Compression.writeUtilityInflate(writer);
+            }
+            if (gs.needsPairsMethod) {
+                writeUtilityPairs(writer);
+            }
+            if (gs.needsStreamType) {
+                Streams.writeUtilityStream(writer);
+            }
         }
     }
 
-    private static void write(Context ctxt, String strategy, GenerationState gs, FileStats stats, JavaWriter writer) throws IOException {
+    /**
+     * @return true if the accessor methods were written
+     */
+    private static boolean write(Context ctxt,
+                                 String strategy,
+                                 String buffer,
+                                 GenerationState gs,
+                                 FileStats stats,
+                                 JavaWriter writer) throws IOException {
         if (!Namer.isIdentifier(stats.name)) {
             ctxt.printError("'" + stats.name + "' is not a valid method name.");
-            return;
+            return false;
         }
         if (stats.size > Integer.MAX_VALUE) {
             String err = "Resource " + stats.resource + " too big for byte array; max size is " + Integer.MAX_VALUE;
             ctxt.printError(err);
+            return false;
+        }
+
+        String source = stats.name + "()";
+        String effective = strategy;
+        switch (strategy) {
+            case CfgStrategy.MEMO:
+                source = writeMemo(gs, writer, stats, false);
+                break;
+            case CfgStrategy.LAZY:
+                if (gs.preload) {
+                    source = writeMemo(gs, writer, stats, true);
+                    effective = CfgStrategy.MEMO;
+                } else {
+                    writeLazyLoad(gs, writer, stats);
+                }
+                break;
+            case CfgStrategy.INLINE:
+                writeInlineMethods(gs, writer, stats);
+                break;
+            case CfgStrategy.CONST:
+                writeStringMethods(gs, writer, stats);
+                break;
+            case CfgStrategy.COMPRESSED:
+                writeCompressed(ctxt, gs, writer, stats);
+                break;
+            default:
+                if (gs.preload && autoLoads(stats)) {
+                    source = writeMemo(gs, writer, stats, true);
+                    effective = CfgStrategy.MEMO;
+                } else {
+                    effective = writeAuto(gs, writer, stats);
+                }
+        }
+
+        if (gs.streams) {
+            writeStreams(gs, writer, stats, effective);
+        }
+
+        String resource = stats.resource.toString();
+        int size = (int) stats.size;
+        switch (buffer) {
+            case CfgBuffer.MAPPED:
+                gs.needsLoadMethod = true;
+                gs.needsMapMethod = true;
+                writeBuffer(writer, stats, w -> w.append("map$(").string(resource).append(", ").append(size).append(")"));
+                break;
+            case CfgBuffer.DIRECT:
+                gs.needsDirectMethod = true;
+                if (CfgStrategy.LAZY.equals(effective)) {
+                    writeBuffer(writer, stats, w -> w.append("direct$(").string(resource).append(", ").append(size).append(")"));
+                } else {
+                    String copy = "direct$(" + source + ")";
+                    writeBuffer(writer, stats, w -> w.append(copy));
+                }
+                break;
+            case CfgBuffer.HEAP:
+                String wrap = "java.nio.ByteBuffer.wrap(" + source + ").asReadOnlyBuffer()";
+                writeBuffer(writer, stats, w -> w.append(wrap));
+                break;
+            default:
+                break;
+        }
+
+        if (!CfgElements.NONE.equals(gs.elements)) {
+            writeElements(ctxt, gs, writer, stats, source, !CfgBuffer.NONE.equals(buffer));
+        }
+        return true;
+    }
+
+    private static void writeDelegates(String buffer,
+                                       GenerationState gs,
+                                       FileStats stats,
+                                       String original,
+                                       JavaWriter writer) throws IOException {
+        writeSignature(writer, stats);
+        writer.indent().append("return ").append(original).append("();").nl();
+        writer.closeBrace().nl().nl();
+
+        if (!CfgBuffer.NONE.equals(buffer)) {
+            writer.indent().staticMember("java.nio.ByteBuffer", stats.name + "Buffer").append("() ").openBrace().nl();
+            writer.indent().append("return ").append(original).append("Buffer();").nl();
+            writer.closeBrace().nl().nl();
+        }
+        if (!CfgElements.NONE.equals(gs.elements) && stats.size % elementSize(gs.elements) == 0) {
+            String accessor = elementAccessor(gs.elements, stats.name);
+            writer.indent().staticMember(gs.elements + "[]", accessor).append("() ").openBrace().nl();
+            writer.indent().append("return ").append(elementAccessor(gs.elements, original)).append("();").nl();
+            writer.closeBrace().nl().nl();
+        }
+        if (gs.streams) {
+            Streams.writeDelegates(writer, stats.name, original);
+        }
+    }
+
+    private static void writeElements(Context ctxt,
+                                      GenerationState gs,
+                                      JavaWriter writer,
+                                      FileStats stats,
+                                      String source,
+                                      boolean buffered) throws IOException {
+        String type = gs.elements;
+        int size = elementSize(type);
+        if (stats.size % size != 0) {
+            String err = "Resource " + stats.resource + " size " + stats.size
+                    + " is not a multiple of " + size + " for " + type + " elements";
+            ctxt.printError(err);
             return;
         }
+        String view = "as" + title(type) + "Buffer()";
+        String order = CfgOrder.LITTLE.equals(gs.order) ? "LITTLE_ENDIAN" : "BIG_ENDIAN";
+
+        writer.nl();
+        writer.indent().staticMember(type + "[]", elementAccessor(type, stats.name)).append("() ").openBrace().nl();
+        writer.indent().append(type).append("[] arr = new ").append(type)
+                .append("[").append((int) (stats.size / size)).append("];").nl();
+        writer.indent();
+        if (buffered) {
+            writer.append("buffer$").append(stats.name).append(".BUFFER.duplicate()");
+        } else {
+            writer.append("java.nio.ByteBuffer.wrap(").append(source).append(")");
+        }
+        writer.append(".order(java.nio.ByteOrder.").append(order).append(").")
+                .append(view).append(".get(arr);").nl();
+        writer.indent().append("return arr;").nl();
+        writer.closeBrace().nl();
+    }
+
+    private static String elementAccessor(String type, String name) {
+        return name + title(type) + "s";
+    }
+
+    private static String title(String type) {
+        return Character.toUpperCase(type.charAt(0)) + type.substring(1);
+    }
+
+    private static int elementSize(String type) {
+        switch (type) {
+            case CfgElements.SHORT:
+            case CfgElements.CHAR:
+                return Short.BYTES;
+            case CfgElements.INT:
+            case CfgElements.FLOAT:
+                return Integer.BYTES;
+            default:
+                return Long.BYTES;
+        }
+    }
 
+    /**
+     * @param lazy true to load the raw data from the classpath
+     * @return the shared array expression
+     */
+    private static String writeMemo(GenerationState gs,
+                                    JavaWriter writer,
+                                    FileStats stats,
+                                    boolean lazy) throws IOException {
+        FileStats raw = stats.hidden("raw$" + stats.name);
+        if (lazy) {
+            writeLazyLoad(gs, writer, raw);
+        } else {
+            writeAuto(gs, writer, raw);
+        }
+
+        String holder = "memo$" + stats.name;
+        Preload.writeHolder(writer, holder, "byte[]", w -> w.append(raw.name).append("()"));
+        gs.memos.add(holder);
+
+        writeSignature(writer, stats);
+        writer.indent().append("byte[] barr = ").append(holder).append(".DATA.clone();").nl();
+        writeReturn(writer);
+
+        return holder + ".DATA";
+    }
+
+    private static void writeStreams(GenerationState gs, JavaWriter writer, FileStats stats, String strategy) throws IOException {
+        String name = stats.name;
         switch (strategy) {
+            case CfgStrategy.MEMO:
+                Streams.writeAccessors(writer, name,
+                        w -> w.append("new java.io.ByteArrayInputStream(memo$").append(name).append(".DATA)"));
+                return;
             case CfgStrategy.LAZY:
-                writeLazyLoad(ctxt, gs, writer, stats);
+                Streams.writeAccessors(writer, name, w -> w.openResource(stats.resource.toString()));
                 return;
             case CfgStrategy.INLINE:
-                writeInlineMethods(ctxt, gs, writer, stats);
-                return;
+                writeInlineChunks(writer, stats);
+                break;
             case CfgStrategy.CONST:
-                writeStringMethods(ctxt, gs, writer, stats);
-                return;
+                writeStringChunks(gs, writer, stats);
+                break;
             default:
-                writeAuto(ctxt, gs, writer, stats);
+                Streams.openChunks(writer, name);
+                Compression.writeChunkCases(writer, stats.deflated);
+                Streams.closeChunks(writer);
+                gs.needsStreamType = true;
+                Streams.writeAccessors(writer, name, w -> {
+                    w.append("new java.util.zip.InflaterInputStream(");
+                    Streams.chunkStream(w, name);
+                    w.append(")");
+                });
+                return;
+        }
+        gs.needsStreamType = true;
+        Streams.writeAccessors(writer, name, w -> Streams.chunkStream(w, name));
+    }
+
+    private static void writeInlineChunks(JavaWriter writer, FileStats stats) throws IOException {
+        if (stats.spill != null) {
+            writeSpilledChunks(writer, stats);
+            return;
+        }
+        Streams.openChunks(writer, stats.name);
+        for (int i = 0; i < stats.chunks.size(); i++) {
+            writer.indent().append("case ").append(i).append(": ").openBrace().nl();
+            writer.indent().append("byte[] b = new byte[").append(stats.chunks.get(i)).append("];").nl();
+            writer.indent().append("fill$").append(stats.name).append(i).append("(b, 0);").nl();
+            writer.indent().append("return b;").nl();
+            writer.closeBrace().nl();
+        }
+        Streams.closeChunks(writer);
+    }
+
+    private static void writeStringChunks(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        if (stats.spill != null) {
+            writeSpilledChunks(writer, stats);
+            return;
         }
+        Streams.openChunks(writer, stats.name);
+        int index = 0;
+        if (stats.latin1) {
+            try (InputStream in = stats.open();
+                 Reader reader = new InputStreamReader(in, StandardCharsets.ISO_8859_1);
+                 BufferedReader br = new BufferedReader(reader, 0xFFFF)) {
+                ModifiedUtf8Buffer buf8 = gs.utf8Buffer();
+                while (buf8.receive(br)) {
+                    Streams.chunkCase(writer, index++);
+                    writer.append("(");
+                    writer.multilineString(buf8);
+                    writer.append(").getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);").nl();
+                }
+            }
+        } else {
+            gs.needsPairsMethod = true;
+            ByteHackReader odd;
+            try (InputStream in = stats.open();
+                 ByteHackReader bhr = new ByteHackReader(in);
+                 BufferedReader br = new BufferedReader(bhr, 0xFFFF)) {
+                odd = bhr;
+                ModifiedUtf8Buffer buf8 = gs.utf8Buffer();
+                while (buf8.receive(br)) {
+                    Streams.chunkCase(writer, index++);
+                    writer.append("pairs$(");
+                    writer.multilineString(buf8);
+                    writer.append(");").nl();
+                }
+            }
+            if (odd.lastByteOdd()) {
+                Streams.chunkCase(writer, index);
+                writer.append("new byte[] {").append(odd.getOddByte()).append("};").nl();
+            }
+        }
+        Streams.closeChunks(writer);
+    }
+
+    private static void writeUtilityPairs(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent().append("private static byte[] pairs$(java.lang.String s) ").openBrace().nl();
+        writer.indent().append("byte[] barr = new byte[s.length() * 2];").nl();
+        writer.indent().append("decode$(s, barr, 0);").nl();
+        writer.indent().append("return barr;").nl();
+        writer.closeBrace().nl();
+    }
+
+    private static void writeBuffer(JavaWriter writer, FileStats stats, Streams.Expression init) throws IOException {
+        String holder = "buffer$" + stats.name;
+
+        writer.indent().append("private static final class ").append(holder).append(" ").openBrace().nl();
+        writer.indent().append("static final java.nio.ByteBuffer BUFFER = ");
+        init.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("java.nio.ByteBuffer", stats.name + "Buffer").append("() ").openBrace().nl();
+        writer.indent().append("return ").append(holder).append(".BUFFER.duplicate();").nl();
+        writer.closeBrace().nl().nl();
+    }
+
+    private static void writeUtilityMap(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent()
+                .append("private ")
+                .staticMember("java.nio.ByteBuffer", "map$")
+                .append("(java.lang.String resource, int size) ")
+                .openBrace().nl();
+
+        writer.indent().append("java.net.URL url = ").resourceUrl("resource").append(";").nl();
+        writer.indent().append("if (url != null && \"file\".equals(url.getProtocol())) ").openBrace().nl();
+        writer.indent().append("try (java.nio.channels.FileChannel channel = ")
+                .append("java.nio.channels.FileChannel.open(java.nio.file.Path.of(url.toURI()))) ").openBrace().nl();
+        writer.indent().append("if (channel.size() != size) ").openBrace().nl();
+        writer.indent().append("throw new java.lang.AssertionError(\"Modified after compilation:\"+resource);").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, 0, size);").nl();
+        writer.closeBrace().append(" catch (java.io.IOException | java.net.URISyntaxException | java.lang.IllegalArgumentException e) ").openBrace().nl();
+        writer.indent().append("// fall back to copying").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return java.nio.ByteBuffer.wrap(load$(resource, size)).asReadOnlyBuffer();").nl();
+
+        writer.closeBrace().nl();
+    }
+
+    private static void writeUtilityDirect(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent()
+                .append("private ")
+                .staticMember("java.nio.ByteBuffer", "direct$")
+                .append("(byte[] barr) ")
+                .openBrace().nl();
+        writer.indent().append("java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocateDirect(barr.length);").nl();
+        writer.indent().append("return buf.put(barr).flip().asReadOnlyBuffer();").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent()
+                .append("private ")
+                .staticMember("java.nio.ByteBuffer", "direct$")
+                .append("(java.lang.String resource, int size) ")
+                .openBrace().nl();
+        writer.indent().append("java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocateDirect(size);").nl();
+        writer.indent().append("try (java.io.InputStream in = ").openResource("resource", false).append(";").nl();
+        writer.indent().indent().append("java.nio.channels.ReadableByteChannel channel = java.nio.channels.Channels.newChannel(in)) ")
+                .openBrace().nl();
+        writer.indent().append("while (buf.hasRemaining()) ").openBrace().nl();
+        writer.indent().append("if (channel.read(buf) < 0) { break; }").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("if (buf.hasRemaining() || (in.read() >= 0)) ").openBrace().nl();
+        writer.indent().append("throw new java.lang.AssertionError(\"Modified after compilation:\"+resource);").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().append(" catch(java.io.IOException e) ").openBrace().nl();
+        writer.indent().append("throw new java.lang.AssertionError(resource, e);").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return buf.flip().asReadOnlyBuffer();").nl();
+        writer.closeBrace().nl();
     }
 
     private static void writeUtilityLoad(JavaWriter writer) throws IOException {
@@ -169,37 +637,154 @@ public class GenerateByteArraysFromFiles implements Handler {
         writer.closeBrace().nl();
     }
 
-    private static void writeAuto(Context ctxt, GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+    private static void writeUtilityLatin1(JavaWriter writer) throws IOException {
+        writer.indent().append("private static int latin1$(java.lang.String s, byte[] barr, int off) ").openBrace().nl();
+        writer.indent().append("byte[] b = s.getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);").nl();
+        writer.indent().append("java.lang.System.arraycopy(b, 0, barr, off, b.length);").nl();
+        writer.indent().append("return off + b.length;").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * @return the strategy used
+     */
+    private static String writeAuto(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
         if (stats.size <= 128) {
-            writeInlineMethods(ctxt, gs, writer, stats);
-        } else if (stats.size <= 0xFFFF) {
-            writeStringMethods(ctxt, gs, writer, stats);
-        } else {
-            writeLazyLoad(ctxt, gs, writer, stats);
+            writeInlineMethods(gs, writer, stats);
+            return CfgStrategy.INLINE;
+        } else if (!autoLoads(stats)) {
+            writeStringMethods(gs, writer, stats);
+            return CfgStrategy.CONST;
         }
+        writeLazyLoad(gs, writer, stats);
+        return CfgStrategy.LAZY;
     }
 
-    private static void writeInlineMethods(Context ctxt, GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+    /**
+     * @return true if {@link CfgStrategy#AUTO} loads the resource from the classpath
+     */
+    private static boolean autoLoads(FileStats stats) {
+        return stats.size > AUTO_EMBED_BYTES;
+    }
+
+    private static void writeInlineMethods(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        if (stats.size > (long) FILLS_PER_CLASS * MAX_BYTES_PER_METHOD) {
+            writeSpilledInlineMethods(gs, writer, stats);
+            return;
+        }
+
         byte[] buf = gs.buffer;
         int methodCount = 0;
 
-        try (InputStream in = stats.resource.open()) {
+        try (InputStream in = stats.open()) {
             while(true) {
                 int r = in.read(buf);
                 if (r < 0) {
                     break;
                 }
                 writeInlineFillMethod(buf, r, writer, stats.name, methodCount);
+                stats.chunks.add(r);
                 methodCount++;
-                checkConstSize(ctxt, stats, methodCount);
             }
         }
 
         writeInlineBytesMethod(writer, methodCount, stats);
     }
 
+    private static void writeSpilledInlineMethods(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        stats.spill = "inline$" + stats.name;
+        byte[] buf = gs.buffer;
+        int methodCount = 0;
+        int groupSize = 0;
+
+        try (InputStream in = stats.open()) {
+            while(true) {
+                int r = in.read(buf);
+                if (r < 0) {
+                    break;
+                }
+                if (methodCount % FILLS_PER_CLASS == 0) {
+                    openSpill(writer, stats);
+                }
+                writeInlineFillMethod(buf, r, writer, stats.name, methodCount);
+                groupSize += r;
+                methodCount++;
+                if (methodCount % FILLS_PER_CLASS == 0) {
+                    closeInlineSpill(writer, stats, methodCount, groupSize);
+                    groupSize = 0;
+                }
+            }
+        }
+        if (methodCount % FILLS_PER_CLASS != 0) {
+            closeInlineSpill(writer, stats, methodCount, groupSize);
+        }
+
+        writeSpilledMethod(writer, stats);
+    }
+
+    private static void closeInlineSpill(JavaWriter writer, FileStats stats, int methodCount, int groupSize) throws IOException {
+        int first = (methodCount - 1) / FILLS_PER_CLASS * FILLS_PER_CLASS;
+        writer.nl();
+        writer.indent().append("static int fill(byte[] b, int i) ").openBrace().nl();
+        for (int i = first; i < methodCount; i++) {
+            writer.indent().append("i = fill$").append(stats.name).append(i).append("(b, i);").nl();
+        }
+        writer.indent().append("return i;").nl();
+        writer.closeBrace().nl();
+        closeSpill(writer, stats, groupSize);
+    }
+
+    /**
+     * Opens the next nested class of a spilled resource.
+     */
+    private static void openSpill(JavaWriter writer, FileStats stats) throws IOException {
+        writer.nl();
+        writer.indent()
+                .append("private static final class ")
+                .append(stats.spill)
+                .append(stats.chunks.size())
+                .append(" ")
+                .openBrace()
+                .nl();
+    }
+
+    /**
+     * Closes the nested class; it must have a <code>static int fill(byte[], int)</code> method.
+     */
+    private static void closeSpill(JavaWriter writer, FileStats stats, int groupSize) throws IOException {
+        writer.closeBrace().nl();
+        stats.chunks.add(groupSize);
+    }
+
+    private static void writeSpilledMethod(JavaWriter writer, FileStats stats) throws IOException {
+        writeSignature(writer, stats);
+        writer.indent().append("byte[] barr = new byte[").append((int) stats.size).append("];").nl();
+        writer.indent().append("int off = 0;").nl();
+        int groups = stats.chunks.size();
+        for (int i = 0; i < groups; i++) {
+            writer.indent();
+            if (i < groups - 1) {
+                writer.append("off = ");
+            }
+            writer.append(stats.spill).append(i).append(".fill(barr, off);").nl();
+        }
+        writeReturn(writer);
+    }
+
+    private static void writeSpilledChunks(JavaWriter writer, FileStats stats) throws IOException {
+        Streams.openChunks(writer, stats.name);
+        for (int i = 0; i < stats.chunks.size(); i++) {
+            writer.indent().append("case ").append(i).append(": ").openBrace().nl();
+            writer.indent().append("byte[] b = new byte[").append(stats.chunks.get(i)).append("];").nl();
+            writer.indent().append(stats.spill).append(i).append(".fill(b, 0);").nl();
+            writer.indent().append("return b;").nl();
+            writer.closeBrace().nl();
+        }
+        Streams.closeChunks(writer);
+    }
+
     private static void checkConstSize(Context ctxt, FileStats stats, int count) {
-        if (count == 0xFFFF - 10) {
+        if (count >= 0xFFFF - 10) {
             String msg = stats.resource + " too large - exceeding class constant pool size";
             ctxt.printError(msg);
         }
@@ -239,7 +824,7 @@ public class GenerateByteArraysFromFiles implements Handler {
     }
 
     private static void writeInlineBytesMethod(JavaWriter writer, int methodCount, FileStats stats) throws IOException {
-        writeSignature(writer, stats.name);
+        writeSignature(writer, stats);
 
         int size = (int) stats.size;
 
@@ -256,12 +841,10 @@ public class GenerateByteArraysFromFiles implements Handler {
         writeReturn(writer);
     }
 
-    private static void writeLazyLoad(Context ctxt, GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
-        checkConstSize(ctxt, stats, 0);
-
+    private static void writeLazyLoad(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
         gs.needsLoadMethod = true;
 
-        writeSignature(writer, stats.name);
+        writeSignature(writer, stats);
 
         writer.indent().append("byte[] barr = ")
                 .append("load$(")
@@ -272,19 +855,187 @@ public class GenerateByteArraysFromFiles implements Handler {
         writeReturn(writer);
     }
 
-    private static void writeStringMethods(Context ctxt, GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+    private static void writeCompressed(Context ctxt, GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        gs.needsInflateMethod = true;
+
+        Compression.Deflated deflated;
+        try (InputStream in = stats.open()) {
+            deflated = Compression.deflate(in);
+        }
+        stats.deflated = deflated;
+
+        writeSignature(writer, stats);
+        writer.indent().append("byte[] barr = ");
+        int constCount = Compression.writeInflate(writer, deflated);
+        writer.append(";").nl();
+        checkConstSize(ctxt, stats, constCount);
+
+        writeReturn(writer);
+    }
+
+    private static void writeStringMethods(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        stats.latin1 = latin1(gs, stats);
+        if (stats.size > CONST_SPILL_BYTES) {
+            writeSpilledStrings(gs, writer, stats);
+        } else if (stats.latin1) {
+            writeLatin1Methods(gs, writer, stats);
+        } else {
+            writePairMethods(gs, writer, stats);
+        }
+    }
+
+    private static void writeSpilledStrings(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        stats.spill = "const$" + stats.name;
+        String decode;
+        int bytesPerChar;
+        if (stats.latin1) {
+            gs.needLatin1Method = true;
+            decode = "latin1$(";
+            bytesPerChar = 1;
+        } else {
+            gs.needDecodeMethod = true;
+            decode = "decode$(";
+            bytesPerChar = 2;
+        }
+
+        int constCount = 0;
+        int groupSize = 0;
+        Reader source;
+        try (InputStream in = stats.open();
+             Reader reader = stats.latin1 ? new InputStreamReader(in, StandardCharsets.ISO_8859_1) : new ByteHackReader(in);
+             BufferedReader br = new BufferedReader(reader, 0xFFFF)) {
+            source = reader;
+
+            ModifiedUtf8Buffer buf8 = gs.utf8Buffer();
+            while (buf8.receive(br)) {
+                if (constCount % CONSTS_PER_CLASS == 0) {
+                    openSpill(writer, stats);
+                    writer.indent().append("static int fill(byte[] barr, int off) ").openBrace().nl();
+                }
+                writer.indent().append("off = ").append(decode);
+                writer.multilineString(buf8);
+                writer.append(", barr, off);").nl();
+                groupSize += buf8.length() * bytesPerChar;
+                constCount++;
+                if (constCount % CONSTS_PER_CLASS == 0 && !exhausted(br)) {
+                    closeStringSpill(writer, stats, groupSize);
+                    groupSize = 0;
+                }
+            }
+        }
+        if (!stats.latin1) {
+            ByteHackReader odd = (ByteHackReader) source;
+            if (odd.lastByteOdd()) {
+                writer.indent().append("barr[off++] = ").append(odd.getOddByte()).append(";").nl();
+                groupSize++;
+            }
+        }
+        closeStringSpill(writer, stats, groupSize);
+
+        writeSpilledMethod(writer, stats);
+    }
+
+    private static void closeStringSpill(JavaWriter writer, FileStats stats, int groupSize) throws IOException {
+        writer.indent().append("return off;").nl();
+        writer.closeBrace().nl();
+        closeSpill(writer, stats, groupSize);
+    }
+
+    /**
+     * Compares constant pool sizes of the two string encodings.
+     *
+     * @return true if ISO-8859-1 should be used
+     */
+    private static boolean latin1(GenerationState gs, FileStats stats) throws IOException {
+        if (stats.encodings != null) {
+            return stats.encodings.latin1();
+        }
+        byte[] buf = gs.buffer;
+        EncodingScan scan = new EncodingScan();
+        try (InputStream in = stats.open()) {
+            while (true) {
+                int r = in.read(buf);
+                if (r < 0) {
+                    break;
+                }
+                scan.update(buf, r);
+            }
+        }
+        return scan.latin1();
+    }
+
+    /**
+     * Accumulates the constant pool sizes of the two string encodings.
+     */
+    private static final class EncodingScan {
+        private long latin1;
+        private long pairs;
+        private int high = -1;
+
+        void update(byte[] buf, int limit) {
+            for (int i = 0; i < limit; i++) {
+                int b = buf[i] & 0xFF;
+                latin1 += ModifiedUtf8Buffer.byteLen((char) b);
+                if (high < 0) {
+                    high = b;
+                } else {
+                    pairs += ModifiedUtf8Buffer.byteLen((char) ((high << 8) | b));
+                    high = -1;
+                }
+            }
+        }
+
+        boolean latin1() {
+            return latin1 * 4 <= pairs * 5;
+        }
+    }
+
+    private static void writeLatin1Methods(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
+        writeSignature(writer, stats);
+
+        try (InputStream in = stats.open();
+             Reader reader = new InputStreamReader(in, StandardCharsets.ISO_8859_1);
+             BufferedReader br = new BufferedReader(reader, 0xFFFF)) {
+
+            ModifiedUtf8Buffer buf8 = gs.utf8Buffer();
+            if (!buf8.receive(br)) {
+                writer.indent().append("byte[] barr = new byte[0];").nl();
+            } else if (exhausted(br)) {
+                // single constant; no copy needed
+                writer.indent().append("byte[] barr = (");
+                writer.multilineString(buf8);
+                writer.append(").getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);").nl();
+            } else {
+                gs.needLatin1Method = true;
+
+                writer.indent().append("byte[] barr = new byte[").append((int) stats.size).append("];").nl();
+                writer.indent().append("int off = 0;").nl();
+                do {
+                    writer.indent();
+                    if (!exhausted(br)) {
+                        writer.append("off = ");
+                    }
+                    writer.append("latin1$(");
+                    writer.multilineString(buf8);
+                    writer.append(", barr, off);").nl();
+                } while (buf8.receive(br));
+            }
+        }
+
+        writeReturn(writer);
+    }
+
+    private static void writePairMethods(GenerationState gs, JavaWriter writer, FileStats stats) throws IOException {
         gs.needDecodeMethod = true;
 
-        writeSignature(writer, stats.name);
+        writeSignature(writer, stats);
 
         int size = (int) stats.size;
         writer.indent().append("byte[] barr = new byte[").append(size).append("];").nl();
         writer.indent().append("int off = 0;").nl();
 
-        int constCount = 0;
-
         ByteHackReader odd;
-        try (InputStream in = stats.resource.open();
+        try (InputStream in = stats.open();
              ByteHackReader bhr = new ByteHackReader(in);
              BufferedReader br = new BufferedReader(bhr, 0xFFFF)) {
             odd = bhr;
@@ -296,10 +1047,8 @@ public class GenerateByteArraysFromFiles implements Handler {
                     writer.append("off = ");
                 }
                 writer.append("decode$(");
-                writeLiteral(writer, buf8);
+                writer.multilineString(buf8);
                 writer.append(", barr, off);").nl();
-                constCount++;
-                checkConstSize(ctxt, stats, constCount);
             }
         }
 
@@ -319,24 +1068,15 @@ public class GenerateByteArraysFromFiles implements Handler {
         return value < 0;
     }
 
-    private static void writeLiteral(JavaWriter w, CharSequence cs) throws IOException {
-        final int len = cs.length();
-        final int LIMIT = 12;
-        int offset = 0;
-        String delim = "";
-        while (offset < cs.length()) {
-            int c = len - offset;
-            c = Math.min(c, LIMIT);
-            CharSequence sub = cs.subSequence(offset, offset + c);
-            offset += c;
-            w.nl().indent().indent().append(delim).string(sub);
-            delim = "+ ";
-        }
-    }
-
-    private static void writeSignature(JavaWriter writer, String name) throws IOException {
+    private static void writeSignature(JavaWriter writer, FileStats stats) throws IOException {
         writer.nl();
-        writer.indent().staticMember("byte[]", name).append("() ").openBrace().nl();
+        writer.indent();
+        if (stats.exposed) {
+            writer.staticMember("byte[]", stats.name);
+        } else {
+            writer.append("private static byte[] ").append(stats.name);
+        }
+        writer.append("() ").openBrace().nl();
     }
 
     private static void writeReturn(JavaWriter writer) throws IOException {
@@ -345,33 +1085,103 @@ public class GenerateByteArraysFromFiles implements Handler {
     }
 
 
-    private static FileStats stats(GenerationState gs, Resource resource, String name) throws IOException {
-        byte[] buf = gs.buffer;
+    /**
+     * Reads the resource to size and hash it.
+     * The data is kept if the strategy embeds it and it is no larger than {@link #RETAIN_BYTES}
+     * so that generation does not read the resource again.
+     * Larger resources are read once more to generate each representation of the data.
+     * The {@link CfgStrategy#CONST} encoding is chosen in this pass.
+     */
+    private static FileStats stats(Resource resource, String name, String strategy) throws IOException {
+        int retain = retain(strategy);
+        byte[] buf = new byte[8 * 1024];
+        byte[] data = retain > 0 ? new byte[buf.length] : null;
+        EncodingScan encodings = CfgStrategy.CONST.equals(strategy) ? new EncodingScan() : null;
         long size = 0;
-        try (InputStream in = resource.open()) {
-            while(true) {
+        ByteBuffer hash = null;
+        try (DigestInputStream in = ContentHash.digesting(resource.open())) {
+            while (size <= Integer.MAX_VALUE) {
                 int r = in.read(buf);
                 if (r < 0) {
+                    hash = ContentHash.of(in);
                     break;
                 }
-                size += r;
-                if (size > Integer.MAX_VALUE) {
-                    // no point continuing
-                    break;
+                if (encodings != null) {
+                    encodings.update(buf, r);
                 }
+                if (data != null && size + r > retain) {
+                    data = null;
+                } else if (data != null) {
+                    if (size + r > data.length) {
+                        data = Arrays.copyOf(data, (int) Math.min(retain, Math.max(data.length * 2L, size + r)));
+                    }
+                    System.arraycopy(buf, 0, data, (int) size, r);
+                }
+                size += r;
             }
         }
-        return new FileStats(resource, size, name);
+        FileStats stats = new FileStats(resource, size, name);
+        stats.hash = hash;
+        stats.data = hash == null ? null : data;
+        stats.encodings = encodings;
+        return stats;
+    }
+
+    /**
+     * @return the size up to which data is kept
+     */
+    private static int retain(String strategy) {
+        switch (strategy) {
+            case CfgStrategy.LAZY:
+                return 0;
+            case CfgStrategy.AUTO:
+            case CfgStrategy.MEMO:
+                return AUTO_EMBED_BYTES;
+            default:
+                return RETAIN_BYTES;
+        }
     }
 
     private static final class FileStats {
         private final Resource resource;
         private final long size;
         private final String name;
+        private final boolean exposed;
+        /** Inline fill method sizes. */
+        private final List<Integer> chunks = new ArrayList<>();
+        /** Constant encoding. */
+        private boolean latin1;
+        /** Constant encoding sizes if scanned with the stats. */
+        private EncodingScan encodings;
+        /** Compressed data. */
+        private Compression.Deflated deflated;
+        /** Content hash; null if too large. */
+        private ByteBuffer hash;
+        /** Nested class name prefix if spilled; chunks are then the nested class sizes. */
+        private String spill;
+        /** Resource data if retained; may be longer than the size. */
+        private byte[] data;
         private FileStats(Resource resource, long size, String name) {
+            this(resource, size, name, true);
+        }
+        private FileStats(Resource resource, long size, String name, boolean exposed) {
             this.resource = resource;
             this.size = size;
             this.name = name;
+            this.exposed = exposed;
+        }
+
+        /** Same resource generated as a private method. */
+        FileStats hidden(String name) {
+            FileStats hidden = new FileStats(resource, size, name, false);
+            hidden.data = data;
+            hidden.encodings = encodings;
+            return hidden;
+        }
+
+        /** Resource data; read from memory if retained. */
+        InputStream open() throws IOException {
+            return data == null ? resource.open() : new ByteArrayInputStream(data, 0, (int) size);
         }
     }
 
@@ -379,6 +1189,17 @@ public class GenerateByteArraysFromFiles implements Handler {
         final byte[] buffer = inlineBuffer();
         boolean needsLoadMethod;
         boolean needDecodeMethod;
+        boolean needLatin1Method;
+        boolean needsInflateMethod;
+        boolean needsMapMethod;
+        boolean needsDirectMethod;
+        boolean needsPairsMethod;
+        boolean needsStreamType;
+        boolean streams;
+        boolean preload;
+        String elements;
+        String order;
+        final List<String> memos = new ArrayList<>();
         ModifiedUtf8Buffer utf8Buffer;
 
         ModifiedUtf8Buffer utf8Buffer() {
@@ -43,6 +43,16 @@ public final class GenerateConstantsFromProperties implements Handler {
         return Sets.of(CfgVisibility.DEF);
     }
 
+    /**
+     * Output depends only on the context.
+     *
+     * @return true
+     */
+    @Override
+    public boolean deterministic() {
+        return true;
+    }
+
     /** Ctor */
     public GenerateConstantsFromProperties() {}
 
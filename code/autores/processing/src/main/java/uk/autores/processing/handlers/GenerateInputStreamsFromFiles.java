@@ -46,6 +46,16 @@ public final class GenerateInputStreamsFromFiles implements Handler {
         return Sets.of(CfgVisibility.DEF, CfgName.DEF);
     }
 
+    /**
+     * Output depends only on the context.
+     *
+     * @return true
+     */
+    @Override
+    public boolean deterministic() {
+        return true;
+    }
+
     @Override
     public void handle(Context context) throws Exception {
         if (context.resources().isEmpty()) {
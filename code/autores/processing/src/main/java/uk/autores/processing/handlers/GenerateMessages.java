@@ -10,11 +10,15 @@ import java.util.Locale;
 final class GenerateMessages {
     private GenerateMessages() {}
 
-    static void write(JavaWriter w, Locale l, FormatExpression expression) throws IOException {
-        write(w, l, expression, true);
+    static void write(JavaWriter w, Locale l, FormatExpression expression, FormatCache formats) throws IOException {
+        write(w, l, expression, true, formats);
     }
 
-    static void write(JavaWriter w, Locale l, FormatExpression expression, boolean estLength) throws IOException {
+    static void write(JavaWriter w,
+                      Locale l,
+                      FormatExpression expression,
+                      boolean estLength,
+                      FormatCache formats) throws IOException {
         int argCount = expression.argCount();
         int est = estLength ? expression.estimateLen(l) : 16;
         w.indent().append("java.lang.StringBuffer buf = new java.lang.StringBuffer(").append(est).append(");").nl();
@@ -23,29 +27,29 @@ final class GenerateMessages {
                 FormatLiteral lit = (FormatLiteral) segment;
                 w.indent().append("buf.append(").string(lit.processed()).append(");").nl();
             } else {
-                add(w, argCount, (FormatVariable) segment);
+                add(w, argCount, (FormatVariable) segment, formats);
             }
         }
         w.indent().append("return buf.toString();").nl();
 
     }
 
-    private static void add(JavaWriter writer, int argCount, FormatVariable v) throws IOException {
+    private static void add(JavaWriter writer, int argCount, FormatVariable v, FormatCache formats) throws IOException {
         switch (v.type()) {
             case NONE:
                 none(writer, v);
                 break;
             case NUMBER:
-                number(writer, v);
+                number(writer, v, formats);
                 break;
             case CHOICE:
-                choice(writer, argCount, v);
+                choice(writer, argCount, v, formats);
                 break;
             case LIST:
                 list(writer, v);
                 break;
             default:
-                temporal(writer, v);
+                temporal(writer, v, formats);
         }
     }
 
@@ -54,45 +58,49 @@ final class GenerateMessages {
         w.indent().append("buf.append(arg").append(i).append(");").nl();
     }
 
-    private static void number(JavaWriter w, FormatVariable v) throws IOException {
+    private static void number(JavaWriter w, FormatVariable v, FormatCache formats) throws IOException {
         int i = v.index();
 
-        w.indent();
+        String nf = "java.text.NumberFormat";
+        String factory;
         switch (v.style()) {
             case INTEGER:
-                w.append("java.text.NumberFormat.getIntegerInstance(l)");
+                factory = nf + ".getIntegerInstance(x)";
                 break;
             case CURRENCY:
-                w.append("java.text.NumberFormat.getCurrencyInstance(l)");
+                factory = nf + ".getCurrencyInstance(x)";
                 break;
             case PERCENT:
-                w.append("java.text.NumberFormat.getPercentInstance(l)");
+                factory = nf + ".getPercentInstance(x)";
                 break;
             case COMPACT_LONG:
-                w.append("java.text.NumberFormat.getCompactNumberInstance(l, java.text.NumberFormat.Style.LONG)");
+                factory = nf + ".getCompactNumberInstance(x, java.text.NumberFormat.Style.LONG)";
                 break;
             case COMPACT_SHORT:
-                w.append("java.text.NumberFormat.getCompactNumberInstance(l, java.text.NumberFormat.Style.SHORT)");
+                factory = nf + ".getCompactNumberInstance(x, java.text.NumberFormat.Style.SHORT)";
                 break;
             case SUBFORMAT:
-                String symbols = "java.text.DecimalFormatSymbols.getInstance(l)";
-                String sf = v.subformat();
-                w.append("new java.text.DecimalFormat(").string(sf).append(", ").append(symbols).append(")");
+                String symbols = "java.text.DecimalFormatSymbols.getInstance(x)";
+                String sf = FormatCache.literal(v.subformat());
+                factory = "new java.text.DecimalFormat(" + sf + ", " + symbols + ")";
                 break;
             default:
-                w.append("java.text.NumberFormat.getInstance(l)");
+                factory = nf + ".getInstance(x)";
         }
+        w.indent().append(formats.localized(nf, factory, true));
         w.append(".format(arg").append(i).append(", buf, new java.text.FieldPosition(0));").nl();
     }
 
-    private static void choice(JavaWriter w, int argCount, FormatVariable v) throws IOException {
+    private static void choice(JavaWriter w, int argCount, FormatVariable v, FormatCache formats) throws IOException {
         final String cf = "java.text.ChoiceFormat";
         final String nfp = "new java.text.FieldPosition(0)";
         int i = v.index();
 
+        String factory = "new " + cf + "(" + FormatCache.literal(v.subformat()) + ")";
+
         w.indent().openBrace().nl();
 
-        w.indent().append(cf).append(" format = new ").append(cf).append("(").string(v.subformat()).append(");").nl();
+        w.indent().append(cf).append(" format = ").append(formats.prototype(cf, factory)).append(";").nl();
         w.indent().append("java.lang.String result = format.format(arg").append(i).append(");").nl();
         w.indent().append("if (result.indexOf('{') >= 0) ").openBrace().nl();
 
@@ -112,12 +120,13 @@ final class GenerateMessages {
         w.closeBrace().nl();
     }
 
-    private static void temporal(JavaWriter w, FormatVariable v) throws IOException {
+    private static void temporal(JavaWriter w, FormatVariable v, FormatCache formats) throws IOException {
         int i = v.index();
-        w.indent().append("java.time.format.DateTimeFormatter.");
+        String dtf = "java.time.format.DateTimeFormatter";
 
         if (v.style() == FmtStyle.SUBFORMAT) {
-            w.append("ofPattern(").string(v.subformat()).append(", l)");
+            String factory = dtf + ".ofPattern(" + FormatCache.literal(v.subformat()) + ", x)";
+            w.indent().append(formats.localized(dtf, factory, false));
             w.append(".formatTo(arg").append(i).append(", buf);").nl();
             return;
         }
@@ -126,22 +135,27 @@ final class GenerateMessages {
         String style = (v.style() == FmtStyle.NONE)
                 ? "MEDIUM"
                 : v.style().toString();
+        String localized;
         switch (v.type()) {
             case DTF_DATETIME:
-                w.append("ofLocalizedDateTime(").append(fs).append(style).append(").withLocale(l)");
+                localized = "ofLocalizedDateTime";
                 break;
             case DATE:
             case DTF_DATE:
-                w.append("ofLocalizedDate(").append(fs).append(style).append(").withLocale(l)");
+                localized = "ofLocalizedDate";
                 break;
             case TIME:
             case DTF_TIME:
-                w.append("ofLocalizedTime(").append(fs).append(style).append(").withLocale(l)");
+                localized = "ofLocalizedTime";
                 break;
             default:
                 String standard = v.type().toString();
-                w.append(standard);
+                w.indent().append(dtf).append(".").append(standard);
+                w.append(".formatTo(arg").append(i).append(", buf);").nl();
+                return;
         }
+        String factory = dtf + "." + localized + "(" + fs + style + ").withLocale(x)";
+        w.indent().append(formats.localized(dtf, factory, false));
         w.append(".formatTo(arg").append(i).append(", buf);").nl();
     }
 
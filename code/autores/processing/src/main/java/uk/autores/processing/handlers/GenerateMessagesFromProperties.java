@@ -32,6 +32,8 @@ import java.util.stream.Stream;
  *     {@link Locale#getAvailableLocales()} and
  *     {@link ResourceBundle.Control#toBundleName(String, Locale)}
  *     are used to discover localized properties.
+ *     Candidates are found by listing the directory or archive that holds the base file in each location.
+ *     Where a location cannot be listed each candidate name is tried in turn.
  * </p>
  * <p>
  *     Generated method signatures will vary based on need.
@@ -128,6 +130,8 @@ public final class GenerateMessagesFromProperties implements Handler {
                 .filter("false"::equals)
                 .isPresent();
 
+        ResourceDirectory directory = new ResourceDirectory();
+
         for (Resource res : resources) {
             if (!res.toString().endsWith(EXTENSION)) {
                 String msg = "Resource names must end in " + EXTENSION + " - got " + res;
@@ -137,40 +141,46 @@ public final class GenerateMessagesFromProperties implements Handler {
 
             Properties base = PropLoader.load(res);
             List<Localization> localizations = localize
-                    ? loadLocalizations(context, res)
+                    ? loadLocalizations(context, directory, res)
                     : Collections.emptyList();
 
             writeProperties(context, res, base, localizations);
         }
     }
 
-    private List<Localization> loadLocalizations(Context context, Resource resource) throws IOException {
+    private List<Localization> loadLocalizations(Context context,
+                                                 ResourceDirectory directory,
+                                                 Resource resource) throws IOException {
         Filer filer = context.env().getFiler();
-        List<JavaFileManager.Location> locations = context.locations();
 
         CharSequence resourcePackage = ResourceFiling.pkg(context.pkg(), resource);
         CharSequence name = ResourceFiling.relativeName(resource);
 
-        List<Localization> localized = new ArrayList<>();
-
         int end = name.length() - EXTENSION.length();
-        CharSequence base = name.subSequence(0, end);
-        StringBuilder props = new StringBuilder(base.length() + EXTENSION.length() + 6);
-        props.append(base);
+        String base = name.subSequence(0, end).toString();
 
-        for (String pattern : locales.patterns()) {
-            props.setLength(base.length());
-            props.append(pattern).append(EXTENSION);
-            final FileObject file;
+        SortedMap<String, FileObject> files = new TreeMap<>();
+        for (JavaFileManager.Location location : context.locations()) {
+            FileObject baseFile;
             try {
-                file = getResource(filer, locations, resourcePackage, props);
+                baseFile = getResource(filer, location, resourcePackage, name);
             } catch (IOException e) {
-                // probably doesn't exist
-                // env.getMessager().printMessage(Diagnostic.Kind.ERROR, e.toString());
+                // base file not in this location so neither are its localizations
                 continue;
             }
+            Set<String> siblings = list(directory, baseFile);
+            if (siblings != null) {
+                match(filer, location, resourcePackage, base, siblings, files);
+            } else if (exists(baseFile)) {
+                probe(filer, location, resourcePackage, base, files);
+            }
+        }
 
-            Resource res = new Resource(file::openInputStream, props.toString());
+        List<Localization> localized = new ArrayList<>(files.size());
+        for (Map.Entry<String, FileObject> entry : files.entrySet()) {
+            String pattern = entry.getKey();
+            FileObject file = entry.getValue();
+            Resource res = new Resource(file::openInputStream, base + pattern + EXTENSION);
             Properties properties = PropLoader.load(res);
             localized.add(new Localization(pattern, properties));
         }
@@ -178,29 +188,77 @@ public final class GenerateMessagesFromProperties implements Handler {
         return localized;
     }
 
-    private FileObject getResource(Filer filer, List<JavaFileManager.Location> locations, CharSequence pkg, CharSequence value) throws IOException {
-        IOException first = null;
-        FileObject fo = null;
-        for (JavaFileManager.Location location : locations) {
-            try {
-                fo = getResource(filer, location, pkg, value);
-                try (InputStream is = fo.openInputStream()) {
-                    // NOOP; if file can be opened it exists
-                    assert is != null;
-                }
-                return fo;
-            } catch (IOException e) {
-                if (first == null) {
-                    first = e;
-                } else {
-                    first.addSuppressed(e);
-                }
+    private Set<String> list(ResourceDirectory directory, FileObject baseFile) throws IOException {
+        try {
+            return directory.siblings(baseFile.toUri());
+        } catch (UnsupportedOperationException e) {
+            // location cannot be listed
+            return null;
+        }
+    }
+
+    private void match(Filer filer,
+                       JavaFileManager.Location location,
+                       CharSequence pkg,
+                       String base,
+                       Set<String> siblings,
+                       Map<String, FileObject> files) throws IOException {
+        String dir = base.substring(0, base.lastIndexOf('/') + 1);
+        String simple = base.substring(dir.length());
+        int minLength = simple.length() + EXTENSION.length();
+
+        for (String sibling : siblings) {
+            if (sibling.length() <= minLength || !sibling.startsWith(simple) || !sibling.endsWith(EXTENSION)) {
+                continue;
+            }
+            String pattern = sibling.substring(simple.length(), sibling.length() - EXTENSION.length());
+            if (files.containsKey(pattern) || !locales.patterns().contains(pattern)) {
+                continue;
             }
+            files.put(pattern, getResource(filer, location, pkg, dir + sibling));
         }
-        if (first != null) {
-            throw first;
+    }
+
+    private void probe(Filer filer,
+                       JavaFileManager.Location location,
+                       CharSequence pkg,
+                       String base,
+                       Map<String, FileObject> files) {
+        StringBuilder props = new StringBuilder(base.length() + EXTENSION.length() + 6);
+        props.append(base);
+
+        for (String pattern : locales.patterns()) {
+            if (files.containsKey(pattern)) {
+                continue;
+            }
+            props.setLength(base.length());
+            props.append(pattern).append(EXTENSION);
+            FileObject fo = existing(filer, location, pkg, props);
+            if (fo != null) {
+                files.put(pattern, fo);
+            }
+        }
+    }
+
+    private FileObject existing(Filer filer, JavaFileManager.Location location, CharSequence pkg, CharSequence name) {
+        try {
+            FileObject fo = getResource(filer, location, pkg, name);
+            return exists(fo) ? fo : null;
+        } catch (IOException e) {
+            // location not supported
+            return null;
+        }
+    }
+
+    private static boolean exists(FileObject fo) {
+        try (InputStream is = fo.openInputStream()) {
+            // NOOP; if file can be opened it exists
+            assert is != null;
+            return true;
+        } catch (IOException e) {
+            // probably doesn't exist
+            return false;
         }
-        return fo;
     }
 
     private FileObject getResource(Filer filer, JavaFileManager.Location location, CharSequence pkg, CharSequence value) throws IOException {
@@ -245,6 +303,8 @@ public final class GenerateMessagesFromProperties implements Handler {
             for (String key : keys) {
                 writeProperty(ctxt, msgs, key, base.getProperty(key));
             }
+
+            msgs.formats.write(writer);
         }
     }
 
@@ -401,7 +461,7 @@ public final class GenerateMessagesFromProperties implements Handler {
         if (hasLocalizedMsg) {
             writeTranslatedExpressions(ctxt, msgs, writer, key, expression);
         } else {
-            GenerateMessages.write(writer, locales.locale(""), expression);
+            GenerateMessages.write(writer, locales.locale(""), expression, msgs.formats);
         }
 
         writer.closeBrace().nl();
@@ -461,12 +521,12 @@ public final class GenerateMessagesFromProperties implements Handler {
             }
             String pattern = l.pattern.substring(1);
             writer.indent().append("case ").string(pattern).append(": ").openBrace().nl();
-            GenerateMessages.write(writer, locales.locale(l.pattern), lExpression);
+            GenerateMessages.write(writer, locales.locale(l.pattern), lExpression, msgs.formats);
             writer.closeBrace().nl();
         }
 
         writer.indent().append("default:").openBrace().nl();
-        GenerateMessages.write(writer, locales.locale(""), expression);
+        GenerateMessages.write(writer, locales.locale(""), expression, msgs.formats);
         writer.closeBrace().nl();
 
         writer.closeBrace().nl();
@@ -497,6 +557,7 @@ public final class GenerateMessagesFromProperties implements Handler {
         private final String lookupName;
         private final List<Localization> localizations;
         private final JavaWriter writer;
+        private final FormatCache formats = new FormatCache();
 
         private Msgs(Resource resource, String lookupName, List<Localization> localizations, JavaWriter writer) {
             this.resource = resource;
@@ -9,9 +9,16 @@ import uk.autores.naming.Namer;
 import javax.annotation.processing.Filer;
 import javax.tools.JavaFileObject;
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
+import java.security.DigestInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -26,25 +33,80 @@ import java.util.Set;
  *     that returns the resource as a {@link String}.
  * </p>
  * <p>
+ *     Resources with identical content are embedded once.
+ *     The methods for later resources call the methods of the first.
+ * </p>
+ * <p>
  *     Resource files over {@link Integer#MAX_VALUE} in size will result in an error during compilation.
  * </p>
  * <p>
+ *     Embedded text over the constant size limit is split into several string literals
+ *     that are appended to a {@link StringBuilder} sized to the text length.
+ * </p>
+ * <p>
+ *     The {@link CfgStrategy#COMPRESSED} strategy embeds the text deflated as UTF-8 and inflates it on each call.
+ * </p>
+ * <p>
+ *     The {@link CfgStrategy#MEMO} strategy builds each string once on first use and returns the same instance.
+ *     Text that fits in a single string constant is embedded as for {@link CfgStrategy#INLINE}.
+ *     Larger text is also embedded; it is never loaded from the classpath.
+ * </p>
+ * <p>
+ *     When {@link CfgStreams} is "true" streaming accessors are generated for each resource.
+ *     They provide the text encoded as UTF-8.
+ *     See {@link Streams}.
+ *     With the {@link CfgStrategy#LAZY} strategy and an encoding other than UTF-8
+ *     the text is read in full before it is streamed.
+ * </p>
+ * <p>
+ *     When {@link CfgReaders} is "true" character accessors are generated for each resource.
+ *     See {@link Readers}.
+ *     Text that is not embedded in chunks is viewed as the string returned by the resource method.
+ *     Lazily loaded text is read directly from the resource unless it is memoized.
+ * </p>
+ * <p>
+ *     When {@link CfgLines} is "true" line accessors are generated for each resource.
+ *     See {@link Lines}.
+ * </p>
+ * <p>
+ *     When {@link CfgPreload} is "true" resources that would be loaded from the classpath on every call
+ *     are memoized instead and <code>preload</code> methods are generated for them.
+ *     See {@link Preload}.
+ * </p>
+ * <p>
  *     The {@link CharsetDecoder} is configured with {@link CodingErrorAction#REPORT}
  *     on malformed input or unmappable characters which will result in build failures.
  * </p>
  */
 public class GenerateStringsFromText implements Handler {
+    /**
+     * Text up to this UTF-8 size is kept in memory between generation steps.
+     * Larger text is decoded again by each step so that memory use does not grow with resource size.
+     */
+    private static final int RETAIN_BYTES = 1 << 20;
+
     /** Ctor */
     public GenerateStringsFromText() {}
 
     /**
      * Supported config.
      *
-     * @return visibility, encoding, strategy, name
+     * @return visibility, encoding, strategy, name, streams, readers, lines, preload
      */
     @Override
     public Set<ConfigDef> config() {
-        return Sets.of(CfgVisibility.DEF, CfgEncoding.DEF, CfgStrategy.DEF, CfgName.DEF);
+        return Sets.of(CfgVisibility.DEF, CfgEncoding.DEF, CfgStrategy.DEF, CfgName.DEF,
+                CfgStreams.DEF, CfgReaders.DEF, CfgLines.DEF, CfgPreload.DEF);
+    }
+
+    /**
+     * Output depends only on the context.
+     *
+     * @return true
+     */
+    @Override
+    public boolean deterministic() {
+        return true;
     }
 
     @Override
@@ -63,7 +125,11 @@ public class GenerateStringsFromText implements Handler {
         CharsetDecoder decoder = decoder(encoding);
         String strategy = context.option(CfgStrategy.DEF).orElse(CfgStrategy.AUTO);
 
-        GenerationState gs = new GenerationState(decoder, className);
+        GenerationState gs = new GenerationState(decoder);
+        gs.streams = CfgFlag.enabled(context, CfgStreams.DEF);
+        gs.readers = CfgFlag.enabled(context, CfgReaders.DEF);
+        gs.lines = CfgFlag.enabled(context, CfgLines.DEF);
+        gs.preload = CfgFlag.enabled(context, CfgPreload.DEF);
 
         String qualifiedName = context.pkg().qualifiedClassName(className);
 
@@ -75,42 +141,248 @@ public class GenerateStringsFromText implements Handler {
              Writer escaper = new UnicodeEscapeWriter(out);
              JavaWriter writer = new JavaWriter(this, context, escaper, className, "")) {
 
+            Map<ByteBuffer, String> written = new HashMap<>();
             for (Resource resource : context.resources()) {
                 String name = Naming.member(context, resource);
-                Stats stats = stats(resource, name, buf, decoder);
-
-                write(strategy, gs, stats, writer);
+                Stats stats = stats(resource, name, strategy, buf, decoder, gs.lines);
+
+                String original = stats.hash == null || !Namer.isIdentifier(name)
+                        ? null
+                        : written.putIfAbsent(stats.hash, name);
+                if (original == null) {
+                    write(context, strategy, gs, stats, writer);
+                } else {
+                    writeDelegates(gs, stats, original, writer);
+                }
             }
 
-            if (gs.needsCopyMethod) {
-                writeUtilityCopyMethod(writer);
+            if (gs.preload) {
+                boolean virtual = Preload.virtualThreads(context.env().getSourceVersion());
+                Preload.writeMethods(writer, className, gs.memos, virtual);
             }
             if (gs.needsLoadMethod) {
                 writeUtilityLoadMethod(writer, gs.decoder.charset().name());
             }
+            if (gs.needsInflateMethod) {
+                Compression.writeUtilityInflate(writer);
+            }
+            if (gs.needsStreamType) {
+                Streams.writeUtilityStream(writer);
+            }
+            if (gs.lines) {
+                Lines.writeUtilityMethods(writer);
+            }
+            if (gs.needsReaderTypes) {
+                Readers.writeUtilityReader(writer);
+                Readers.writeUtilityView(writer);
+            }
+        }
+    }
+
+    private static void writeDelegates(GenerationState gs, Stats stats, String original, JavaWriter writer) throws IOException {
+        writeMethodDeclaration(writer, stats);
+        writer.indent().append("return ").append(original).append("();").nl();
+        writeMethodClose(writer);
+
+        if (gs.streams) {
+            Streams.writeDelegates(writer, stats.name, original);
+        }
+        if (gs.readers) {
+            Readers.writeDelegates(writer, stats.name, original);
+        }
+        if (gs.lines) {
+            Lines.writeDelegates(writer, stats.name, original);
         }
     }
 
-    private static void write(String strategy, GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+    private static void write(Context context, String strategy, GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        if (stats.hash == null || stats.byteSize > Integer.MAX_VALUE) {
+            context.printError("Resource " + stats.resource + " too big; max size is " + Integer.MAX_VALUE);
+            return;
+        }
+
+        String effective = strategy;
         switch (strategy) {
+            case CfgStrategy.COMPRESSED:
+                if (!writeCompressed(context, gs, stats, writer)) {
+                    return;
+                }
+                break;
             case CfgStrategy.LAZY:
-                writeLazyLoad(gs, stats, writer);
+                writeLazyLoad(gs, stats, writer, gs.preload);
+                break;
+            case CfgStrategy.MEMO:
+                effective = writeMemo(gs, stats, writer);
                 break;
             case CfgStrategy.INLINE:
             case CfgStrategy.CONST:
                 writeInLine(gs, stats, writer);
+                effective = CfgStrategy.INLINE;
                 break;
             default:
-                writeAuto(gs, stats, writer);
+                effective = writeAuto(gs, stats, writer);
+        }
+
+        if (gs.streams) {
+            writeStreams(gs, stats, writer, effective);
+        }
+        if (gs.readers) {
+            writeReaders(gs, stats, writer, effective);
+        }
+        if (gs.lines) {
+            writeLines(gs, stats, writer);
         }
     }
 
-    private static void writeAuto(GenerationState generationState, Stats stats, JavaWriter writer) throws IOException {
+    /**
+     * @return the strategy used
+     */
+    private static String writeAuto(GenerationState generationState, Stats stats, JavaWriter writer) throws IOException {
         if (stats.utf8Size > ModifiedUtf8Buffer.CONST_BYTE_LIMIT) {
-            writeLazyLoad(generationState, stats, writer);
-        } else {
-            writeInLine(generationState, stats, writer);
+            writeLazyLoad(generationState, stats, writer, generationState.preload);
+            return CfgStrategy.LAZY;
         }
+        writeInLine(generationState, stats, writer);
+        return CfgStrategy.INLINE;
+    }
+
+    /**
+     * @return the strategy used
+     */
+    private static String writeMemo(GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        if (stats.utf8Size < ModifiedUtf8Buffer.CONST_BYTE_LIMIT) {
+            // a single constant is already the same instance on every call
+            writeSimpleInline(gs, stats, writer);
+            return CfgStrategy.INLINE;
+        }
+        Stats raw = stats.hidden("raw$" + stats.name);
+        writeInLine(gs, raw, writer);
+        writeMemoized(gs, stats, writer, w -> w.append(raw.name).append("()"));
+        return CfgStrategy.MEMO;
+    }
+
+    private static void writeMemoized(GenerationState gs, Stats stats, JavaWriter writer, Streams.Expression init) throws IOException {
+        String holder = "memo$" + stats.name;
+        writer.nl();
+        Preload.writeHolder(writer, holder, "java.lang.String", init);
+        gs.memos.add(holder);
+
+        writeMethodDeclaration(writer, stats);
+        writer.indent().append("return ").append(holder).append(".DATA;").nl();
+        writeMethodClose(writer);
+    }
+
+    private static void writeStreams(GenerationState gs, Stats stats, JavaWriter writer, String strategy) throws IOException {
+        String name = stats.name;
+        switch (strategy) {
+            case CfgStrategy.LAZY:
+                if (!gs.preload && "UTF-8".equals(gs.decoder.charset().name())) {
+                    Streams.writeAccessors(writer, name, w -> w.openResource(stats.resource.toString()));
+                    return;
+                }
+                // fall through
+            case CfgStrategy.MEMO:
+                Streams.writeAccessors(writer, name, w -> w.append("new java.io.ByteArrayInputStream(")
+                        .append(name).append("().getBytes(java.nio.charset.StandardCharsets.UTF_8))"));
+                return;
+            case CfgStrategy.COMPRESSED:
+                Streams.openChunks(writer, name);
+                Compression.writeChunkCases(writer, stats.deflated);
+                Streams.closeChunks(writer);
+                gs.needsStreamType = true;
+                Streams.writeAccessors(writer, name, w -> {
+                    w.append("new java.util.zip.InflaterInputStream(");
+                    Streams.chunkStream(w, name);
+                    w.append(")");
+                });
+                return;
+            default:
+                writeTextChunks(gs, stats, writer);
+                gs.needsStreamType = true;
+                Streams.writeAccessors(writer, name, w -> Streams.chunkStream(w, name));
+        }
+    }
+
+    private static void writeReaders(GenerationState gs, Stats stats, JavaWriter writer, String strategy) throws IOException {
+        String name = stats.name;
+        switch (strategy) {
+            case CfgStrategy.LAZY:
+                if (!gs.preload) {
+                    Readers.writeStringAccessors(writer, name, w -> w.append("new java.io.InputStreamReader(")
+                            .openResource(stats.resource.toString()).append(", charset$)"));
+                    return;
+                }
+                Readers.writeStringAccessors(writer, name);
+                return;
+            case CfgStrategy.COMPRESSED:
+                if (!gs.streams) {
+                    Streams.openChunks(writer, name);
+                    Compression.writeChunkCases(writer, stats.deflated);
+                    Streams.closeChunks(writer);
+                    gs.needsStreamType = true;
+                }
+                Readers.writeStringAccessors(writer, name, w -> {
+                    w.append("new java.io.InputStreamReader(new java.util.zip.InflaterInputStream(");
+                    Streams.chunkStream(w, name);
+                    w.append("), java.nio.charset.StandardCharsets.UTF_8)");
+                });
+                return;
+            case CfgStrategy.INLINE:
+                if (stats.utf8Size >= ModifiedUtf8Buffer.CONST_BYTE_LIMIT) {
+                    writeReaderChunks(gs, stats, writer);
+                    gs.needsReaderTypes = true;
+                    Readers.writeChunkAccessors(writer, name);
+                    return;
+                }
+                Readers.writeStringAccessors(writer, name);
+                return;
+            default:
+                Readers.writeStringAccessors(writer, name);
+        }
+    }
+
+    private static void writeLines(GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        Lines.openHolder(writer, stats.name, stats.lines);
+        try (Reader reader = new CharArrayReader(stats.lines.encode())) {
+            while (gs.buffer.receive(reader)) {
+                writer.append(",");
+                writer.multilineString(gs.buffer);
+            }
+        }
+        Lines.closeHolder(writer);
+        Lines.writeAccessors(writer, stats.name, stats.lines.count());
+    }
+
+    private static void writeReaderChunks(GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        List<Integer> starts = new ArrayList<>();
+        int offset = 0;
+        Readers.openChunks(writer, stats.name);
+        try (Reader reader = stats.reader(gs.decoder);
+             Reader bufReader = new BufferedReader(reader, gs.buffer.maxBuffer())) {
+            for (int i = 0; gs.buffer.receive(bufReader); i++) {
+                starts.add(offset);
+                offset += gs.buffer.length();
+                Streams.chunkCase(writer, i);
+                writer.multilineString(gs.buffer);
+                writer.append(";").nl();
+            }
+        }
+        starts.add(offset);
+        Readers.closeChunks(writer, stats.name, starts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void writeTextChunks(GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        Streams.openChunks(writer, stats.name);
+        try (Reader reader = stats.reader(gs.decoder);
+             Reader bufReader = new BufferedReader(reader, gs.buffer.maxBuffer())) {
+            for (int i = 0; gs.buffer.receive(bufReader); i++) {
+                Streams.chunkCase(writer, i);
+                writer.append("(");
+                writer.multilineString(gs.buffer);
+                writer.append(").getBytes(java.nio.charset.StandardCharsets.UTF_8);").nl();
+            }
+        }
+        Streams.closeChunks(writer);
     }
 
     private static void writeInLine(GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
@@ -119,133 +391,131 @@ public class GenerateStringsFromText implements Handler {
             return;
         }
 
-        gs.needsCopyMethod = true;
-
         int len = (int) stats.utf16Size;
         ModifiedUtf8Buffer buf = gs.buffer;
 
-        writeMethodDeclaration(writer, stats.name);
+        writeMethodDeclaration(writer, stats);
 
-        try (InputStream in = stats.resource.open();
-             Reader reader = new InputStreamReader(in, gs.decoder);
+        try (Reader reader = stats.reader(gs.decoder);
              Reader bufReader = new BufferedReader(reader)) {
 
-            writer.indent().append("char[] arr = new char[").append(len).append("];").nl();
-            writer.indent().append("int offset = 0;").nl();
+            writer.indent().append("java.lang.StringBuilder sb = new java.lang.StringBuilder(").append(len).append(");").nl();
             while (buf.receive(bufReader)) {
-                writer.indent().append("offset = ")
-                        .append(gs.utilityTypeClassName)
-                        .append(".copy$(");
-                writeLiteral(writer, buf);
-                writer.append(", arr, offset);").nl();
+                writer.indent().append("sb.append(");
+                writer.multilineString(buf);
+                writer.append(");").nl();
             }
-            writer.indent().append("return new java.lang.String(arr);").nl();
+            writer.indent().append("return sb.toString();").nl();
         }
 
         writeMethodClose(writer);
     }
 
     private static void writeSimpleInline(GenerationState generationState, Stats stats, JavaWriter writer) throws IOException {
-        writeMethodDeclaration(writer, stats.name);
+        writeMethodDeclaration(writer, stats);
 
-        try (InputStream in = stats.resource.open();
-             Reader reader = new InputStreamReader(in, generationState.decoder);
+        try (Reader reader = stats.reader(generationState.decoder);
              Reader bufReader = new BufferedReader(reader, generationState.buffer.maxBuffer())) {
 
-            generationState.buffer.receive(bufReader);
             writer.indent().append("return");
-            writeLiteral(writer, generationState.buffer);
+            if (generationState.buffer.receive(bufReader)) {
+                writer.multilineString(generationState.buffer);
+            } else {
+                writer.append(" \"\"");
+            }
             writer.append(";").nl();
         }
 
         writeMethodClose(writer);
     }
 
-    private static void writeLiteral(JavaWriter w, CharSequence cs) throws IOException {
-        final int len = cs.length();
-        final int LIMIT = 12;
-        int offset = 0;
-        String delim = "";
-        while (offset < cs.length()) {
-            int c = len - offset;
-            c = Math.min(c, LIMIT);
-            CharSequence sub = cs.subSequence(offset, offset + c);
-            offset += c;
-            w.nl().indent().indent().append(delim).string(sub);
-            delim = "+ ";
+    /**
+     * @return true if the method was written
+     */
+    private static boolean writeCompressed(Context context, GenerationState gs, Stats stats, JavaWriter writer) throws IOException {
+        Compression.Deflated deflated;
+        try (Reader reader = stats.reader(gs.decoder)) {
+            deflated = Compression.deflate(reader);
         }
-    }
+        if (deflated.size > Integer.MAX_VALUE) {
+            context.printError("Resource " + stats.resource + " too big to compress; max UTF-8 size is " + Integer.MAX_VALUE);
+            return false;
+        }
+        stats.deflated = deflated;
 
-    private static void writeLazyLoad(GenerationState generationState, Stats stats, JavaWriter writer) throws IOException {
-        generationState.needsLoadMethod = true;
+        gs.needsInflateMethod = true;
 
-        int size = (int) stats.utf16Size;
+        writeMethodDeclaration(writer, stats);
+        writer.indent().append("return new java.lang.String(");
+        Compression.writeInflate(writer, deflated);
+        writer.append(", java.nio.charset.StandardCharsets.UTF_8);").nl();
+        writeMethodClose(writer);
+        return true;
+    }
 
-        writeMethodDeclaration(writer, stats.name);
+    private static void writeLazyLoad(GenerationState generationState, Stats stats, JavaWriter writer, boolean memoize) throws IOException {
+        generationState.needsLoadMethod = true;
 
-        writer.indent().append("return ")
-                .append("load$(")
+        int size = (int) stats.byteSize;
+        Streams.Expression load = w -> w.append("load$(")
                 .string(stats.resource)
                 .append(", ")
                 .append(size)
-                .append(");").nl();
+                .append(")");
+
+        if (memoize) {
+            writeMemoized(generationState, stats, writer, load);
+            return;
+        }
 
+        writeMethodDeclaration(writer, stats);
+        writer.indent().append("return ");
+        load.write(writer);
+        writer.append(";").nl();
         writeMethodClose(writer);
     }
 
-    private static void writeMethodDeclaration(JavaWriter writer, String name) throws IOException {
+    private static void writeMethodDeclaration(JavaWriter writer, Stats stats) throws IOException {
         writer.nl();
-        writer.indent().staticMember("java.lang.String", name).append("() ").openBrace().nl();
+        writer.indent();
+        if (stats.exposed) {
+            writer.staticMember("java.lang.String", stats.name);
+        } else {
+            writer.append("private static java.lang.String ").append(stats.name);
+        }
+        writer.append("() ").openBrace().nl();
     }
 
     private static void writeMethodClose(JavaWriter writer) throws IOException {
         writer.closeBrace().nl();
     }
 
-    private static void writeUtilityCopyMethod(JavaWriter writer) throws IOException {
-        String decl = "static int copy$(java.lang.CharSequence src, char[] dest, int off) ";
-
-        writer.nl();
-        writer.indent().append(decl).openBrace().nl();
-        writer.indent().append("for (int i = 0, len = src.length(); i < len; i++) ").openBrace().nl();
-        writer.indent().append("dest[off++] = src.charAt(i);").nl();
-        writer.closeBrace().nl();
-        writer.indent().append("return off;").nl();
-        writer.closeBrace().nl();
-    }
-
     private static void writeUtilityLoadMethod(JavaWriter writer, String encoding) throws IOException {
         String decl = "private static java.lang.String load$(java.lang.String resource, int size) ";
 
-        writer.indent().append(decl).openBrace().nl();
+        writer.nl();
         writer.indent()
-                .append("java.nio.charset.Charset enc = java.nio.charset.Charset.forName(")
+                .append("private static final java.nio.charset.Charset charset$ = java.nio.charset.Charset.forName(")
                 .string(encoding)
                 .append(");")
                 .nl();
-        writer.indent().append("char[] buf = new char[size];").nl();
+        writer.nl();
+        writer.indent().append(decl).openBrace().nl();
         writer.indent()
                 .append("try (")
                 .append("java.io.InputStream in = ")
                 .openResource("resource", false)
-                .append("; java.io.Reader reader = new java.io.InputStreamReader(in, enc)) ")
+                .append(") ")
                 .openBrace()
                 .nl();
-
-        writer.indent().append("int offset = 0;").nl();
-        writer.indent().append("while(true) ").openBrace().nl();
-        writer.indent().append("int r = reader.read(buf, offset, buf.length - offset);").nl();
-        writer.indent().append("if (r < 0) { break; }").nl();
-        writer.indent().append("offset += r;").nl();
-        writer.indent().append("if (offset == buf.length) { break; }").nl();
-        writer.closeBrace().nl();
-        writer.indent().append("if ((offset != size) || (in.read() >= 0)) ").openBrace().nl();
+        writer.indent().append("byte[] b = in.readNBytes(size);").nl();
+        writer.indent().append("if ((b.length != size) || (in.read() >= 0)) ").openBrace().nl();
         writer.indent().append("throw new java.lang.AssertionError(\"Modified after compilation:\"+resource);").nl();
         writer.closeBrace().nl();
+        writer.indent().append("return new java.lang.String(b, charset$);").nl();
         writer.closeBrace().append(" catch (java.io.IOException e) ").openBrace().nl();
         writer.indent().append("throw new java.lang.AssertionError(resource, e);").nl();
         writer.closeBrace().nl();
-        writer.indent().append("return new java.lang.String(buf);").nl();
 
         writer.closeBrace().nl();
     }
@@ -257,10 +527,25 @@ public class GenerateStringsFromText implements Handler {
                 .onUnmappableCharacter(CodingErrorAction.REPORT);
     }
 
-    private Stats stats(Resource resource, String name, ModifiedUtf8Buffer buf, CharsetDecoder decoder) throws IOException {
+    /**
+     * Decodes the resource to size and hash it.
+     * The text is kept if the strategy embeds it and it is no larger than {@link #RETAIN_BYTES}
+     * so that generation does not decode the resource again.
+     */
+    private Stats stats(Resource resource,
+                        String name,
+                        String strategy,
+                        ModifiedUtf8Buffer buf,
+                        CharsetDecoder decoder,
+                        boolean lines) throws IOException {
+        long retain = retain(strategy);
+        Lines.Index index = lines ? new Lines.Index() : null;
+        char[] text = retain > 0 ? new char[8 * 1024] : null;
         long utf16Size = 0L;
         long utf8Size = 0L;
-        try (InputStream in = resource.open();
+        ByteBuffer hash = null;
+        CountingInputStream counting = new CountingInputStream(resource.open());
+        try (DigestInputStream in = ContentHash.digesting(counting);
              Reader reader = new InputStreamReader(in, decoder);
              Reader bufReader = new BufferedReader(reader)) {
             while (buf.receive(bufReader)) {
@@ -271,36 +556,116 @@ public class GenerateStringsFromText implements Handler {
                     // no point continuing
                     break;
                 }
+                if (index != null) {
+                    index.scan(buf);
+                }
+                if (text != null && utf8Size > retain) {
+                    text = null;
+                } else if (text != null) {
+                    text = retain(text, utf16Size - buf.length(), buf);
+                }
+            }
+            if (utf16Size <= Integer.MAX_VALUE) {
+                hash = ContentHash.of(in);
             }
         }
 
-        return new Stats(resource, name, utf16Size, utf8Size);
+        Stats stats = new Stats(resource, name, true, utf16Size, utf8Size);
+        stats.byteSize = counting.count();
+        stats.lines = index;
+        stats.hash = hash;
+        stats.text = hash == null ? null : text;
+        return stats;
+    }
+
+    private static char[] retain(char[] text, long offset, CharSequence buf) {
+        int off = (int) offset;
+        int len = buf.length();
+        if (off + len > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, off + len));
+        }
+        for (int i = 0; i < len; i++) {
+            text[off + i] = buf.charAt(i);
+        }
+        return text;
+    }
+
+    /**
+     * @return the UTF-8 size up to which text is kept
+     */
+    private static long retain(String strategy) {
+        switch (strategy) {
+            case CfgStrategy.LAZY:
+                return 0;
+            case CfgStrategy.COMPRESSED:
+            case CfgStrategy.INLINE:
+            case CfgStrategy.CONST:
+            case CfgStrategy.MEMO:
+                return RETAIN_BYTES;
+            default:
+                return ModifiedUtf8Buffer.CONST_BYTE_LIMIT;
+        }
     }
 
     private static final class Stats {
         private final Resource resource;
         private final String name;
+        /** Whether the method is part of the generated API. */
+        private final boolean exposed;
         private final long utf16Size;
         private final long utf8Size;
-
-        private Stats(Resource resource, String name, long utf16Size, long utf8Size) {
+        /** Encoded size; only complete if the hash was computed. */
+        private long byteSize;
+        /** Line index if line accessors are generated. */
+        private Lines.Index lines;
+        /** Compressed data. */
+        private Compression.Deflated deflated;
+        /** Content hash; null if too large. */
+        private ByteBuffer hash;
+        /** Decoded text if retained; may be longer than the text. */
+        private char[] text;
+
+        private Stats(Resource resource, String name, boolean exposed, long utf16Size, long utf8Size) {
             this.resource = resource;
             this.name = name;
+            this.exposed = exposed;
             this.utf16Size = utf16Size;
             this.utf8Size = utf8Size;
         }
+
+        /** Stats for a private method with the same content. */
+        Stats hidden(String name) {
+            Stats hidden = new Stats(resource, name, false, utf16Size, utf8Size);
+            hidden.byteSize = byteSize;
+            hidden.hash = hash;
+            hidden.lines = lines;
+            hidden.text = text;
+            return hidden;
+        }
+
+        /** Resource text; read from memory if retained. */
+        Reader reader(CharsetDecoder decoder) throws IOException {
+            return text == null
+                    ? new InputStreamReader(resource.open(), decoder)
+                    : new CharArrayReader(text, 0, (int) utf16Size);
+        }
     }
 
     private static final class GenerationState {
         final CharsetDecoder decoder;
-        final String utilityTypeClassName;
         final ModifiedUtf8Buffer buffer = new ModifiedUtf8Buffer();
-        boolean needsCopyMethod;
         boolean needsLoadMethod;
-
-        private GenerationState(CharsetDecoder decoder, String utilityTypeClassName) {
+        boolean needsInflateMethod;
+        boolean needsStreamType;
+        boolean needsReaderTypes;
+        boolean streams;
+        boolean readers;
+        boolean lines;
+        boolean preload;
+        final List<String> memos = new ArrayList<>();
+
+        private GenerationState(CharsetDecoder decoder) {
             this.decoder = decoder;
-            this.utilityTypeClassName = utilityTypeClassName;
         }
     }
 }
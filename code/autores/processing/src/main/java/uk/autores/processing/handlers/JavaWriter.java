@@ -122,6 +122,20 @@ final class JavaWriter extends Writer {
         return this;
     }
 
+    public JavaWriter multilineString(CharSequence value) throws IOException {
+        final int len = value.length();
+        final int LIMIT = 12;
+        int offset = 0;
+        String delim = "";
+        while (offset < len) {
+            int c = Math.min(len - offset, LIMIT);
+            nl().indent().indent().append(delim).string(value.subSequence(offset, offset + c));
+            offset += c;
+            delim = "+ ";
+        }
+        return this;
+    }
+
     public JavaWriter comment(String comment) throws IOException {
         return this.indent().append("/** ").string(comment).append(" */").append(NL);
     }
@@ -166,4 +180,8 @@ final class JavaWriter extends Writer {
         append(")");
         return this;
     }
+
+    public JavaWriter resourceUrl(CharSequence variable) throws IOException {
+        return append(className).append(".class.getResource(").append(variable).append(")");
+    }
 }
@@ -0,0 +1,198 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     Support for {@link CfgLines}.
+ *     For a resource method <code>foo()</code> generates <code>fooLineCount()</code>,
+ *     <code>fooLine(int)</code> and <code>fooLines()</code>.
+ *     Lines are split as by {@link String#lines()}.
+ * </p>
+ * <p>
+ *     The start index of each line is found at compile time and embedded in string constants
+ *     as two chars per index.
+ *     The <code>lines$foo</code> holder class decodes the indices and keeps the text on first use.
+ * </p>
+ */
+final class Lines {
+
+    private Lines() {}
+
+    /**
+     * Writes the opening of the holder class up to the encoded line starts.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param index line index
+     * @throws IOException on I/O error
+     */
+    static void openHolder(JavaWriter writer, String name, Index index) throws IOException {
+        writer.nl();
+        writer.indent().append("private static final class lines$").append(name).append(" ").openBrace().nl();
+        writer.indent().append("static final java.lang.String TEXT = ").append(name).append("();").nl();
+        writer.indent().append("static final int[] STARTS = starts$(").append(index.count() + 1);
+    }
+
+    /**
+     * Closes the holder class.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void closeHolder(JavaWriter writer) throws IOException {
+        writer.append(");").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes the line accessors.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param count number of lines
+     * @throws IOException on I/O error
+     */
+    static void writeAccessors(JavaWriter writer, String name, int count) throws IOException {
+        writeAccessors(writer, name,
+                w -> w.append(count),
+                w -> w.append("line$(lines$").append(name).append(".TEXT, lines$").append(name).append(".STARTS, n)"));
+    }
+
+    /**
+     * Writes line accessors that call those of a resource with the same content.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param original method name of the resource with the same content
+     * @throws IOException on I/O error
+     */
+    static void writeDelegates(JavaWriter writer, String name, String original) throws IOException {
+        writeAccessors(writer, name,
+                w -> w.append(original).append("LineCount()"),
+                w -> w.append(original).append("Line(n)"));
+    }
+
+    private static void writeAccessors(JavaWriter writer,
+                                       String name,
+                                       Streams.Expression count,
+                                       Streams.Expression line) throws IOException {
+        writer.nl();
+        writer.indent().staticMember("int", name + "LineCount").append("() ").openBrace().nl();
+        writer.indent().append("return ");
+        count.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("java.lang.String", name + "Line").append("(int n) ").openBrace().nl();
+        writer.indent().append("return ");
+        line.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("java.util.stream.Stream<java.lang.String>", name + "Lines").append("() ").openBrace().nl();
+        writer.indent().append("return java.util.stream.IntStream.range(0, ").append(name).append("LineCount())")
+                .append(".mapToObj(n -> ").append(name).append("Line(n));").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes the <code>starts$</code> and <code>line$</code> methods.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void writeUtilityMethods(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent().append("private static int[] starts$(int count, java.lang.String... parts) ").openBrace().nl();
+        writer.indent().append("int[] starts = new int[count];").nl();
+        writer.indent().append("int n = 0;").nl();
+        writer.indent().append("int hi = -1;").nl();
+        writer.indent().append("for (java.lang.String part : parts) ").openBrace().nl();
+        writer.indent().append("for (int i = 0, len = part.length(); i < len; i++) ").openBrace().nl();
+        writer.indent().append("if (hi < 0) ").openBrace().nl();
+        writer.indent().append("hi = part.charAt(i);").nl();
+        writer.closeBrace().append(" else ").openBrace().nl();
+        writer.indent().append("starts[n++] = (hi << 16) | part.charAt(i);").nl();
+        writer.indent().append("hi = -1;").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return starts;").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().append("private static java.lang.String line$(java.lang.String text, int[] starts, int n) ").openBrace().nl();
+        writer.indent().append("java.util.Objects.checkIndex(n, starts.length - 1);").nl();
+        writer.indent().append("int start = starts[n];").nl();
+        writer.indent().append("int end = starts[n + 1];").nl();
+        writer.indent().append("if (end > start && text.charAt(end - 1) == '\\n') { end--; }").nl();
+        writer.indent().append("if (end > start && text.charAt(end - 1) == '\\r') { end--; }").nl();
+        writer.indent().append("return text.substring(start, end);").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Finds the start of each line as text is scanned.
+     * Lines end with "\n", "\r" or "\r\n" and a line break at the end of the text does not start a line.
+     */
+    static final class Index {
+        private int[] starts = new int[16];
+        private int count;
+        private int length;
+        private boolean atStart = true;
+        private boolean cr;
+
+        /**
+         * @param text next part of the text
+         */
+        void scan(CharSequence text) {
+            for (int i = 0, len = text.length(); i < len; i++, length++) {
+                char ch = text.charAt(i);
+                if (cr && ch == '\n') {
+                    cr = false;
+                    continue;
+                }
+                cr = false;
+                if (atStart) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = length;
+                    atStart = false;
+                }
+                if (ch == '\n') {
+                    atStart = true;
+                } else if (ch == '\r') {
+                    atStart = true;
+                    cr = true;
+                }
+            }
+        }
+
+        /**
+         * @return number of lines
+         */
+        int count() {
+            return count;
+        }
+
+        /**
+         * @return the start of each line followed by the text length, two chars per index
+         */
+        char[] encode() {
+            char[] encoded = new char[(count + 1) * 2];
+            for (int i = 0; i <= count; i++) {
+                int start = i == count ? length : starts[i];
+                encoded[i * 2] = (char) (start >>> 16);
+                encoded[i * 2 + 1] = (char) start;
+            }
+            return encoded;
+        }
+    }
+}
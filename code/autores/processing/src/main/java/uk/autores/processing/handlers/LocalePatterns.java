@@ -5,37 +5,17 @@ package uk.autores.processing.handlers;
 import java.util.*;
 import java.util.function.Function;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSortedMap;
 
 final class LocalePatterns {
 
-    private SortedMap<String, String[]> relationships;
-    private final Map<String, Locale> locales = new HashMap<>();
-
-    private Map<String, String[]> relationships() {
-        if (relationships == null) {
-            ResourceBundle.Control ctrl = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
-            relationships = new TreeMap<>();
-            for (Locale l : Locale.getAvailableLocales()) {
-                if (l.getLanguage().isEmpty()) {
-                    continue;
-                }
-                String pattern = ctrl.toBundleName("", l);
-                String[] candidates = candidates(ctrl, l, pattern);
-                relationships.put(pattern, candidates);
-                locales.put(pattern, l);
-            }
-            relationships = unmodifiableSortedMap(relationships);
-        }
-        return relationships;
-    }
-
     Set<String> patterns() {
-        return relationships().keySet();
+        return Table.RELATIONSHIPS.keySet();
     }
 
     <T> List<T> findCandidatesFor(String pattern, Function<T, String> getter, List<T> localizations) {
-        String[] matchers = relationships().get(pattern);
+        String[] matchers = Table.RELATIONSHIPS.get(pattern);
         if (matchers == null) {
             throw new AssertionError("Unknown pattern: " + pattern);
         }
@@ -55,7 +35,7 @@ final class LocalePatterns {
         return candidates;
     }
 
-    private String[] candidates(ResourceBundle.Control ctrl, Locale l, String pattern) {
+    private static String[] candidates(ResourceBundle.Control ctrl, Locale l, String pattern) {
         List<Locale> cl = ctrl.getCandidateLocales("", l);
         List<String> list = new ArrayList<>(cl.size());
         for (Locale candidate : cl) {
@@ -72,6 +52,34 @@ final class LocalePatterns {
     }
 
     Locale locale(String pattern) {
-        return locales.getOrDefault(pattern, Locale.US);
+        return Table.LOCALES.getOrDefault(pattern, Locale.US);
+    }
+
+    /**
+     * The available locales do not change during the life of the JVM so the table is built once on first use.
+     * Lazy holder idiom.
+     */
+    private static final class Table {
+        static final SortedMap<String, String[]> RELATIONSHIPS;
+        static final Map<String, Locale> LOCALES;
+
+        static {
+            ResourceBundle.Control ctrl = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+            SortedMap<String, String[]> relationships = new TreeMap<>();
+            Map<String, Locale> locales = new HashMap<>();
+            for (Locale l : Locale.getAvailableLocales()) {
+                if (l.getLanguage().isEmpty()) {
+                    continue;
+                }
+                String pattern = ctrl.toBundleName("", l);
+                String[] candidates = candidates(ctrl, l, pattern);
+                relationships.put(pattern, candidates);
+                locales.put(pattern, l);
+            }
+            RELATIONSHIPS = unmodifiableSortedMap(relationships);
+            LOCALES = unmodifiableMap(locales);
+        }
+
+        private Table() {}
     }
 }
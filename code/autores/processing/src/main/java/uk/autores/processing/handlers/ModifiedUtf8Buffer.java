@@ -39,6 +39,8 @@ final class ModifiedUtf8Buffer implements CharSequence {
      * Reads chars into a buffer but limits the number of chars to a UTF-8 byte length.
      * {@link Reader} must provide valid UTF-16 sequences and {@link Reader#markSupported()}
      * must return true.
+     * Where possible, the buffer does not end with a high surrogate so that a surrogate pair
+     * is not split across buffers.
      *
      * @param reader buffered reader
      * @return true if data has been read; false otherwise
@@ -63,6 +65,10 @@ final class ModifiedUtf8Buffer implements CharSequence {
             utf8Length += bytes;
             length ++;
         }
+        if (length > 1 && Character.isHighSurrogate(cbuf[length - 1])) {
+            length--;
+            utf8Length -= byteLen(cbuf[length]);
+        }
 
         reader.reset();
         r = reader.read(cbuf, 0, length);
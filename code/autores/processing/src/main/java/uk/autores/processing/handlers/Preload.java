@@ -0,0 +1,95 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>
+ *     Support for {@link CfgPreload}.
+ *     Memoized resources are held in <code>DATA</code> fields of nested holder classes
+ *     that are initialized on first use.
+ *     The generated <code>preload(Executor)</code> method initializes each holder as a separate task.
+ *     The generated <code>preloadAll()</code> method does the same on a virtual thread per holder
+ *     when the source version is 21 or later; otherwise on the common {@link java.util.concurrent.ForkJoinPool}.
+ * </p>
+ * <p>
+ *     Failures are reported through the returned {@link java.util.concurrent.CompletableFuture}.
+ *     A holder that fails to initialize cannot be used afterwards.
+ * </p>
+ */
+final class Preload {
+
+    /** First source version with {@link Thread} virtual thread builders. */
+    private static final int VIRTUAL_THREADS = 21;
+
+    private Preload() {}
+
+    /**
+     * @param version source version of the compilation
+     * @return true if generated code can start virtual threads
+     */
+    static boolean virtualThreads(SourceVersion version) {
+        return version.ordinal() >= VIRTUAL_THREADS;
+    }
+
+    /**
+     * Writes a holder class for a memoized value.
+     *
+     * @param writer destination
+     * @param holder holder class name
+     * @param type value type
+     * @param init writes the initializer expression
+     * @throws IOException on I/O error
+     */
+    static void writeHolder(JavaWriter writer, String holder, String type, Streams.Expression init) throws IOException {
+        writer.indent().append("private static final class ").append(holder).append(" ").openBrace().nl();
+        writer.indent().append("static final ").append(type).append(" DATA = ");
+        init.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes the preload methods.
+     *
+     * @param writer destination
+     * @param className generated class name
+     * @param holders holder class names
+     * @param virtual true to run <code>preloadAll()</code> tasks on virtual threads
+     * @throws IOException on I/O error
+     */
+    static void writeMethods(JavaWriter writer,
+                             String className,
+                             List<String> holders,
+                             boolean virtual) throws IOException {
+        String future = "java.util.concurrent.CompletableFuture<java.lang.Void>";
+
+        writer.nl();
+        writer.indent().staticMember(future, "preload")
+                .append("(java.util.concurrent.Executor executor) ").openBrace().nl();
+        writer.indent().append("return java.util.concurrent.CompletableFuture.allOf(");
+        String delim = "";
+        for (String holder : holders) {
+            writer.append(delim).nl();
+            writer.indent().indent()
+                    .append("java.util.concurrent.CompletableFuture.runAsync(() -> java.util.Objects.requireNonNull(")
+                    .append(holder).append(".DATA), executor)");
+            delim = ",";
+        }
+        writer.append(");").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember(future, "preloadAll").append("() ").openBrace().nl();
+        if (virtual) {
+            writer.indent().append("return preload(task -> java.lang.Thread.ofVirtual().name(")
+                    .string(className + " preload").append(").start(task));").nl();
+        } else {
+            writer.indent().append("return preload(java.util.concurrent.ForkJoinPool.commonPool());").nl();
+        }
+        writer.closeBrace().nl();
+    }
+}
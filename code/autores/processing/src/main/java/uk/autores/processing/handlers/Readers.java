@@ -0,0 +1,230 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ *     Support for {@link CfgReaders}.
+ *     For a resource method <code>foo()</code> generates <code>fooOpenReader()</code>
+ *     returning a {@link java.io.Reader} and <code>fooView()</code> returning a {@link CharSequence}.
+ * </p>
+ * <p>
+ *     Large embedded text is read from a <code>text$foo(int)</code> method that returns one
+ *     string constant per call.
+ *     The view locates constants using the <code>offsets$foo</code> array of their start indices,
+ *     so neither accessor builds the whole text.
+ * </p>
+ */
+final class Readers {
+
+    private Readers() {}
+
+    /**
+     * Writes the signature of the <code>text$</code> method and opens its switch.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @throws IOException on I/O error
+     */
+    static void openChunks(JavaWriter writer, String name) throws IOException {
+        writer.nl();
+        writer.indent().append("private static java.lang.String text$").append(name).append("(int i) ").openBrace().nl();
+        writer.indent().append("switch (i) ").openBrace().nl();
+    }
+
+    /**
+     * Closes the <code>text$</code> method and writes the <code>offsets$</code> array.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param offsets start index of each chunk followed by the text length
+     * @throws IOException on I/O error
+     */
+    static void closeChunks(JavaWriter writer, String name, int[] offsets) throws IOException {
+        Streams.closeChunks(writer);
+        writer.nl();
+        writer.indent().append("private static final int[] offsets$").append(name).append(" = {");
+        for (int i = 0; i < offsets.length; i++) {
+            if (i % 16 == 0) {
+                writer.nl().indent().indent();
+            }
+            writer.append(offsets[i]).append(",");
+        }
+        writer.nl();
+        writer.indent().append("};").nl();
+    }
+
+    /**
+     * Writes accessors that read chunks from the <code>text$</code> method.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @throws IOException on I/O error
+     */
+    static void writeChunkAccessors(JavaWriter writer, String name) throws IOException {
+        writeAccessors(writer, name,
+                w -> w.append("new reader$(i -> text$").append(name).append("(i))"),
+                w -> w.append("new view$(i -> text$").append(name).append("(i), offsets$").append(name).append(")"));
+    }
+
+    /**
+     * Writes accessors over the string returned by the resource method.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @throws IOException on I/O error
+     */
+    static void writeStringAccessors(JavaWriter writer, String name) throws IOException {
+        writeStringAccessors(writer, name, w -> w.append("new java.io.StringReader(").append(name).append("())"));
+    }
+
+    /**
+     * Writes accessors where the view is the string returned by the resource method.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param reader writes an expression of type {@link java.io.Reader}
+     * @throws IOException on I/O error
+     */
+    static void writeStringAccessors(JavaWriter writer, String name, Streams.Expression reader) throws IOException {
+        writeAccessors(writer, name, reader, w -> w.append(name).append("()"));
+    }
+
+    /**
+     * Writes accessors that call those of a resource with the same content.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param original method name of the resource with the same content
+     * @throws IOException on I/O error
+     */
+    static void writeDelegates(JavaWriter writer, String name, String original) throws IOException {
+        writeAccessors(writer, name,
+                w -> w.append(original).append("OpenReader()"),
+                w -> w.append(original).append("View()"));
+    }
+
+    private static void writeAccessors(JavaWriter writer,
+                                       String name,
+                                       Streams.Expression reader,
+                                       Streams.Expression view) throws IOException {
+        writer.nl();
+        writer.indent().staticMember("java.io.Reader", name + "OpenReader").append("() ").openBrace().nl();
+        writer.indent().append("return ");
+        reader.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("java.lang.CharSequence", name + "View").append("() ").openBrace().nl();
+        writer.indent().append("return ");
+        view.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes the <code>reader$</code> type used by {@link #writeChunkAccessors(JavaWriter, String)}.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void writeUtilityReader(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent().append("private static final class reader$ extends java.io.Reader ").openBrace().nl();
+        writer.indent().append("private final java.util.function.IntFunction<java.lang.String> chunks;").nl();
+        writer.indent().append("private java.lang.String chunk = \"\";").nl();
+        writer.indent().append("private int index;").nl();
+        writer.indent().append("private int pos;").nl();
+        writer.nl();
+        writer.indent().append("reader$(java.util.function.IntFunction<java.lang.String> chunks) ").openBrace().nl();
+        writer.indent().append("this.chunks = chunks;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public int read(char[] cbuf, int off, int len) ").openBrace().nl();
+        writer.indent().append("java.util.Objects.checkFromIndexSize(off, len, cbuf.length);").nl();
+        writer.indent().append("if (len == 0) { return 0; }").nl();
+        writer.indent().append("while (chunk != null && pos == chunk.length()) ").openBrace().nl();
+        writer.indent().append("chunk = chunks.apply(index++);").nl();
+        writer.indent().append("pos = 0;").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("if (chunk == null) { return -1; }").nl();
+        writer.indent().append("int n = java.lang.Math.min(len, chunk.length() - pos);").nl();
+        writer.indent().append("chunk.getChars(pos, pos + n, cbuf, off);").nl();
+        writer.indent().append("pos += n;").nl();
+        writer.indent().append("return n;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public void close() ").openBrace().nl();
+        writer.indent().append("chunk = null;").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes the <code>view$</code> type used by {@link #writeChunkAccessors(JavaWriter, String)}.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void writeUtilityView(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent().append("private static final class view$ implements java.lang.CharSequence ").openBrace().nl();
+        writer.indent().append("private final java.util.function.IntFunction<java.lang.String> chunks;").nl();
+        writer.indent().append("private final int[] offsets;").nl();
+        writer.indent().append("private final int start;").nl();
+        writer.indent().append("private final int end;").nl();
+        writer.nl();
+        writer.indent().append("view$(java.util.function.IntFunction<java.lang.String> chunks, int[] offsets) ").openBrace().nl();
+        writer.indent().append("this(chunks, offsets, 0, offsets[offsets.length - 1]);").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("private view$(java.util.function.IntFunction<java.lang.String> chunks, int[] offsets, int start, int end) ")
+                .openBrace().nl();
+        writer.indent().append("this.chunks = chunks;").nl();
+        writer.indent().append("this.offsets = offsets;").nl();
+        writer.indent().append("this.start = start;").nl();
+        writer.indent().append("this.end = end;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("private int chunk(int pos) ").openBrace().nl();
+        writer.indent().append("int i = java.util.Arrays.binarySearch(offsets, pos);").nl();
+        writer.indent().append("return i < 0 ? -i - 2 : i;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public int length() ").openBrace().nl();
+        writer.indent().append("return end - start;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public char charAt(int index) ").openBrace().nl();
+        writer.indent().append("int pos = start + java.util.Objects.checkIndex(index, end - start);").nl();
+        writer.indent().append("int i = chunk(pos);").nl();
+        writer.indent().append("return chunks.apply(i).charAt(pos - offsets[i]);").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public java.lang.CharSequence subSequence(int from, int to) ").openBrace().nl();
+        writer.indent().append("java.util.Objects.checkFromToIndex(from, to, end - start);").nl();
+        writer.indent().append("return new view$(chunks, offsets, start + from, start + to);").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public java.lang.String toString() ").openBrace().nl();
+        writer.indent().append("java.lang.StringBuilder sb = new java.lang.StringBuilder(end - start);").nl();
+        writer.indent().append("for (int pos = start; pos < end; ) ").openBrace().nl();
+        writer.indent().append("int i = chunk(pos);").nl();
+        writer.indent().append("int to = java.lang.Math.min(offsets[i + 1], end);").nl();
+        writer.indent().append("sb.append(chunks.apply(i), pos - offsets[i], to - offsets[i]);").nl();
+        writer.indent().append("pos = to;").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return sb.toString();").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+    }
+}
@@ -0,0 +1,104 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Lists the files that share a directory with a resource.
+ * Supports <code>file:</code> and <code>jar:file:</code> URIs as returned by {@link javax.tools.FileObject#toUri()}.
+ * Listings are cached per directory for the life of the instance.
+ */
+final class ResourceDirectory {
+
+    private static final String JAR_SEPARATOR = "!/";
+
+    private final Map<String, Set<String>> listings = new HashMap<>();
+
+    /**
+     * Lists the simple names of the files in the same directory as the given resource.
+     * The resource itself need not exist.
+     *
+     * @param resource resource URI
+     * @return file names or null if the URI cannot be listed
+     * @throws IOException on I/O error
+     */
+    Set<String> siblings(URI resource) throws IOException {
+        String scheme = resource.getScheme();
+        if (!"file".equals(scheme) && !"jar".equals(scheme)) {
+            return null;
+        }
+        String uri = resource.toString();
+        int slash = uri.lastIndexOf('/');
+        if (slash < 0) {
+            return null;
+        }
+        String dir = uri.substring(0, slash + 1);
+        Set<String> listing = listings.get(dir);
+        if (listing == null && !listings.containsKey(dir)) {
+            listing = list(resource);
+            listings.put(dir, listing);
+        }
+        return listing;
+    }
+
+    private static Set<String> list(URI resource) throws IOException {
+        try {
+            if ("file".equals(resource.getScheme())) {
+                return listDirectory(Paths.get(resource).getParent());
+            }
+            return listJar(resource.getRawSchemeSpecificPart());
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            // not a URI the default file system understands
+            return null;
+        }
+    }
+
+    private static Set<String> listDirectory(Path dir) throws IOException {
+        if (dir == null || !Files.isDirectory(dir)) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new HashSet<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(Files::isRegularFile)
+                    .map(Path::getFileName)
+                    .map(Path::toString)
+                    .forEach(names::add);
+        }
+        return names;
+    }
+
+    private static Set<String> listJar(String ssp) throws IOException {
+        int sep = ssp.indexOf(JAR_SEPARATOR);
+        if (sep < 0) {
+            return null;
+        }
+        URI archive = URI.create(ssp.substring(0, sep));
+        if (!"file".equals(archive.getScheme())) {
+            // nested archives etc.
+            return null;
+        }
+        String entry = ssp.substring(sep + JAR_SEPARATOR.length());
+        String prefix = URI.create(entry.substring(0, entry.lastIndexOf('/') + 1)).getPath();
+
+        Set<String> names = new HashSet<>();
+        try (JarFile jar = new JarFile(Paths.get(archive).toFile())) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry je = entries.nextElement();
+                String name = je.getName();
+                if (je.isDirectory() || !name.startsWith(prefix) || name.indexOf('/', prefix.length()) >= 0) {
+                    continue;
+                }
+                names.add(name.substring(prefix.length()));
+            }
+        }
+        return names;
+    }
+}
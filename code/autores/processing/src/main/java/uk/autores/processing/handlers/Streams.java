@@ -0,0 +1,166 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ *     Support for {@link CfgStreams}.
+ *     For a resource method <code>foo()</code> generates <code>fooOpenStream()</code>
+ *     and <code>fooWriteTo</code> overloads for {@link java.io.OutputStream}
+ *     and {@link java.nio.channels.WritableByteChannel}.
+ * </p>
+ * <p>
+ *     Embedded data is streamed from a <code>chunk$foo(int)</code> method that decodes one
+ *     string constant or fill method per call, so a caller never holds more than one chunk.
+ * </p>
+ */
+final class Streams {
+
+    private Streams() {}
+
+    /**
+     * Writes the signature of the <code>chunk$</code> method and opens its switch.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @throws IOException on I/O error
+     */
+    static void openChunks(JavaWriter writer, String name) throws IOException {
+        writer.nl();
+        writer.indent().append("private static byte[] chunk$").append(name).append("(int i) ").openBrace().nl();
+        writer.indent().append("switch (i) ").openBrace().nl();
+    }
+
+    /**
+     * Starts a case that returns a chunk expression.
+     *
+     * @param writer destination
+     * @param index chunk index
+     * @throws IOException on I/O error
+     */
+    static void chunkCase(JavaWriter writer, int index) throws IOException {
+        writer.indent().append("case ").append(index).append(": return ");
+    }
+
+    /**
+     * Closes the <code>chunk$</code> method.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void closeChunks(JavaWriter writer) throws IOException {
+        writer.indent().append("default: return null;").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * @param writer destination
+     * @param name resource method name
+     * @throws IOException on I/O error
+     */
+    static void chunkStream(JavaWriter writer, String name) throws IOException {
+        writer.append("new stream$(i -> chunk$").append(name).append("(i))");
+    }
+
+    /**
+     * Writes the stream accessors.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param stream writes an expression of type {@link java.io.InputStream}
+     * @throws IOException on I/O error
+     */
+    static void writeAccessors(JavaWriter writer, String name, Expression stream) throws IOException {
+        writer.nl();
+        writer.indent().staticMember("java.io.InputStream", name + "OpenStream").append("() ").openBrace().nl();
+        writer.indent().append("return ");
+        stream.write(writer);
+        writer.append(";").nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("void", name + "WriteTo")
+                .append("(java.io.OutputStream out) throws java.io.IOException ").openBrace().nl();
+        writer.indent().append("try (java.io.InputStream in = ").append(name).append("OpenStream()) ").openBrace().nl();
+        writer.indent().append("in.transferTo(out);").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+
+        writer.nl();
+        writer.indent().staticMember("void", name + "WriteTo")
+                .append("(java.nio.channels.WritableByteChannel channel) throws java.io.IOException ").openBrace().nl();
+        writer.indent().append(name).append("WriteTo(java.nio.channels.Channels.newOutputStream(channel));").nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes stream accessors that call those of a resource with the same content.
+     *
+     * @param writer destination
+     * @param name resource method name
+     * @param original method name of the resource with the same content
+     * @throws IOException on I/O error
+     */
+    static void writeDelegates(JavaWriter writer, String name, String original) throws IOException {
+        writeAccessors(writer, name, w -> w.append(original).append("OpenStream()"));
+    }
+
+    /**
+     * Writes the <code>stream$</code> type used by {@link #chunkStream(JavaWriter, String)}.
+     *
+     * @param writer destination
+     * @throws IOException on I/O error
+     */
+    static void writeUtilityStream(JavaWriter writer) throws IOException {
+        writer.nl();
+        writer.indent().append("private static final class stream$ extends java.io.InputStream ").openBrace().nl();
+        writer.indent().append("private final java.util.function.IntFunction<byte[]> chunks;").nl();
+        writer.indent().append("private byte[] chunk = new byte[0];").nl();
+        writer.indent().append("private int index;").nl();
+        writer.indent().append("private int pos;").nl();
+        writer.nl();
+        writer.indent().append("stream$(java.util.function.IntFunction<byte[]> chunks) ").openBrace().nl();
+        writer.indent().append("this.chunks = chunks;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("private boolean next() ").openBrace().nl();
+        writer.indent().append("while (chunk != null && pos == chunk.length) ").openBrace().nl();
+        writer.indent().append("chunk = chunks.apply(index++);").nl();
+        writer.indent().append("pos = 0;").nl();
+        writer.closeBrace().nl();
+        writer.indent().append("return chunk != null;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public int read() ").openBrace().nl();
+        writer.indent().append("return next() ? chunk[pos++] & 0xFF : -1;").nl();
+        writer.closeBrace().nl();
+        writer.nl();
+        writer.indent().append("@java.lang.Override").nl();
+        writer.indent().append("public int read(byte[] b, int off, int len) ").openBrace().nl();
+        writer.indent().append("java.util.Objects.checkFromIndexSize(off, len, b.length);").nl();
+        writer.indent().append("if (len == 0) { return 0; }").nl();
+        writer.indent().append("if (!next()) { return -1; }").nl();
+        writer.indent().append("int n = java.lang.Math.min(len, chunk.length - pos);").nl();
+        writer.indent().append("java.lang.System.arraycopy(chunk, pos, b, off, n);").nl();
+        writer.indent().append("pos += n;").nl();
+        writer.indent().append("return n;").nl();
+        writer.closeBrace().nl();
+        writer.closeBrace().nl();
+    }
+
+    /**
+     * Writes a Java expression.
+     */
+    @FunctionalInterface
+    interface Expression {
+        /**
+         * @param writer destination
+         * @throws IOException on I/O error
+         */
+        void write(JavaWriter writer) throws IOException;
+    }
+}
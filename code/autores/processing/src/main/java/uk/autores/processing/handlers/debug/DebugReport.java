@@ -55,7 +55,7 @@ public final class DebugReport implements Handler {
         Filer filer = context.env().getFiler();
         try {
             String name = DebugReport.class.getSimpleName() + "-" + System.identityHashCode(this) + ".txt";
-            FileObject r = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name);
+            FileObject r = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name, context.annotated());
             try (OutputStream os = r.openOutputStream();
                  Writer w = new OutputStreamWriter(os, StandardCharsets.UTF_8)) {
                 w.write(results);
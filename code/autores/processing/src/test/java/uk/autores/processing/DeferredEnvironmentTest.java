@@ -0,0 +1,166 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestFiler;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredEnvironmentTest {
+
+    private final TestFiler filer = new TestFiler() {
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+            TestFileObject file = new TestFileObject();
+            files.get(StandardLocation.CLASS_OUTPUT).put(name.toString(), file);
+            return file;
+        }
+    };
+    private final TestProcessingEnvironment env = new TestProcessingEnvironment() {
+        @Override
+        public TestFiler getFiler() {
+            return filer;
+        }
+
+        @Override
+        public Types getTypeUtils() {
+            return null;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return Locale.ROOT;
+        }
+    };
+    private final DeferredEnvironment deferred = new DeferredEnvironment(env, new Object());
+
+    @Test
+    void delegates() {
+        assertSame(env.getOptions(), deferred.getOptions());
+        assertSame(env.getSourceVersion(), deferred.getSourceVersion());
+        assertEquals(env.isPreviewEnabled(), deferred.isPreviewEnabled());
+        assertNull(deferred.getTypeUtils());
+        assertSame(env.getLocale(), deferred.getLocale());
+    }
+
+    @Test
+    void locksElementUtils() {
+        Element element = Locked.element(TestElement.INSTANCE, new Object());
+        PackageElement pkg = deferred.getElementUtils().getPackageOf(element);
+        assertSame(env.getElementUtils().getPackageOf(TestElement.INSTANCE), Locked.unwrap(pkg));
+    }
+
+    @Test
+    void defersSourceFiles() throws IOException {
+        JavaFileObject file = deferred.getFiler().createSourceFile("foo.Bar", TestElement.INSTANCE);
+        try (Writer w = file.openWriter()) {
+            w.write("package foo;");
+        }
+        TestFileObject actual = env.getFiler().files.get(StandardLocation.SOURCE_OUTPUT).get("foo.Bar");
+        assertEquals("", read(actual));
+
+        deferred.commit();
+
+        assertEquals("package foo;", read(actual));
+    }
+
+    @Test
+    void createsFilesImmediately() {
+        TestProcessingEnvironment failing = new TestProcessingEnvironment() {
+            @Override
+            public TestFiler getFiler() {
+                return new TestFiler() {
+                    @Override
+                    public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements)
+                            throws IOException {
+                        throw new FilerException(name.toString());
+                    }
+                };
+            }
+        };
+        Filer f = new DeferredEnvironment(failing, new Object()).getFiler();
+        assertThrows(FilerException.class, () -> f.createSourceFile("foo.Bar"));
+    }
+
+    @Test
+    void defersResources() throws IOException {
+        FileObject file = deferred.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "foo", "bar baz.txt", TestElement.INSTANCE);
+        try (OutputStream out = file.openOutputStream()) {
+            out.write(1);
+        }
+        TestFileObject actual = env.getFiler().files.get(StandardLocation.CLASS_OUTPUT).get("bar baz.txt");
+        assertEquals("", read(actual));
+
+        deferred.commit();
+
+        try (InputStream in = actual.data.in()) {
+            assertArrayEquals(new byte[]{1}, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void defersClassFiles() throws IOException {
+        try (OutputStream out = deferred.getFiler().createClassFile("foo.Bar").openOutputStream()) {
+            out.write(1);
+        }
+        TestFileObject actual = env.getFiler().files.get(StandardLocation.CLASS_OUTPUT).get("foo.Bar");
+        assertEquals("", read(actual));
+
+        deferred.commit();
+
+        try (InputStream in = actual.data.in()) {
+            assertArrayEquals(new byte[]{1}, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void getsResources() throws IOException {
+        Filer filer = deferred.getFiler();
+        FileObject file = filer.getResource(StandardLocation.SOURCE_PATH, "foo", "bar.txt");
+        assertThrows(FileNotFoundException.class, file::openInputStream);
+    }
+
+    @Test
+    void defersMessages() throws IOException {
+        Messager messager = deferred.getMessager();
+        Element element = Locked.element(TestElement.INSTANCE, new Object());
+        messager.printMessage(Diagnostic.Kind.ERROR, "a");
+        messager.printMessage(Diagnostic.Kind.ERROR, "b", element);
+        messager.printMessage(Diagnostic.Kind.ERROR, "c", element, null);
+        messager.printMessage(Diagnostic.Kind.ERROR, "d", element, null, null);
+        assertTrue(env.getMessager().messages.get(Diagnostic.Kind.ERROR).isEmpty());
+
+        deferred.commit();
+
+        assertEquals(4, env.getMessager().messages.get(Diagnostic.Kind.ERROR).size());
+    }
+
+    private static String read(TestFileObject file) throws IOException {
+        try (InputStream in = file.data.in()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.*;
+import uk.autores.naming.Namer;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestFiler;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintsTest {
+
+    private final TestFiler filer = new TestFiler() {
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+            return new TestFileObject(true);
+        }
+    };
+    private final TestProcessingEnvironment env = new TestProcessingEnvironment() {
+        @Override
+        public TestFiler getFiler() {
+            return filer;
+        }
+    };
+
+    @Test
+    void reusesUnchangedOutput() throws Exception {
+        CountingHandler handler = new CountingHandler(FingerprintsTest::generate);
+        build(handler, "data");
+        build(handler, "data");
+        build(handler, "data");
+
+        assertEquals(1, handler.count);
+        assertEquals("package foo; class Bar {}", source("foo.Bar"));
+    }
+
+    @Test
+    void regeneratesChangedResources() throws Exception {
+        CountingHandler handler = new CountingHandler(FingerprintsTest::generate);
+        build(handler, "data");
+        build(handler, "changed");
+
+        assertEquals(2, handler.count);
+    }
+
+    @Test
+    void regeneratesDeletedOutput() throws Exception {
+        CountingHandler handler = new CountingHandler(FingerprintsTest::generate);
+        build(handler, "data");
+        filer.files.get(StandardLocation.SOURCE_OUTPUT).clear();
+        build(handler, "data");
+
+        assertEquals(2, handler.count);
+        assertEquals("package foo; class Bar {}", source("foo.Bar"));
+    }
+
+    @Test
+    void doesNotReuseAfterErrors() throws Exception {
+        CountingHandler handler = new CountingHandler(ctxt -> {
+            generate(ctxt);
+            Messager messager = ctxt.env().getMessager();
+            messager.printMessage(Diagnostic.Kind.NOTE, "note");
+            messager.printMessage(Diagnostic.Kind.NOTE, "note", ctxt.annotated());
+            messager.printMessage(Diagnostic.Kind.NOTE, "note", ctxt.annotated(), null);
+            messager.printMessage(Diagnostic.Kind.ERROR, "error", ctxt.annotated(), null, null);
+        });
+        build(handler, "data");
+        build(handler, "data");
+
+        assertEquals(2, handler.count);
+        assertEquals(2, env.getMessager().messages.get(Diagnostic.Kind.ERROR).size());
+    }
+
+    @Test
+    void doesNotReuseAfterWarnings() throws Exception {
+        CountingHandler handler = new CountingHandler(ctxt -> {
+            generate(ctxt);
+            ctxt.env().getMessager().printMessage(Diagnostic.Kind.WARNING, "warning", ctxt.annotated());
+        });
+        build(handler, "data");
+        build(handler, "data");
+
+        assertEquals(2, handler.count);
+        assertEquals(2, env.getMessager().messages.get(Diagnostic.Kind.WARNING).size());
+    }
+
+    @Test
+    void fingerprintsVersion() {
+        assertNotNull(Fingerprints.VERSION);
+        assertFalse(Fingerprints.VERSION.isEmpty());
+        assertFalse(Fingerprints.VERSION.contains("${"));
+    }
+
+    @Test
+    void doesNotReuseNonSourceOutput() throws Exception {
+        CountingHandler handler = new CountingHandler(ctxt -> {
+            Filer f = ctxt.env().getFiler();
+            f.getResource(StandardLocation.CLASS_OUTPUT, "", "foo.txt");
+            f.createResource(StandardLocation.CLASS_OUTPUT, "", "foo.txt", ctxt.annotated());
+            f.createClassFile("foo.Baz", ctxt.annotated());
+        });
+        build(handler, "data");
+        build(handler, "data");
+
+        assertEquals(2, handler.count);
+    }
+
+    @Test
+    void reusesEmptyOutput() throws Exception {
+        CountingHandler handler = new CountingHandler(ctxt -> {});
+        build(handler, "data");
+        build(handler, "data");
+
+        assertEquals(1, handler.count);
+    }
+
+    @Test
+    void fingerprintsConfig() throws Exception {
+        Handler handler = new CountingHandler(ctxt -> {});
+        Context a = context("data");
+        Context b = a.rebuild()
+                .setConfig(singletonList(new Config("foo", "bar")))
+                .build();
+
+        assertEquals(Fingerprints.fingerprint(handler, a), Fingerprints.fingerprint(handler, a));
+        assertNotEquals(Fingerprints.fingerprint(handler, a), Fingerprints.fingerprint(handler, b));
+    }
+
+    @Test
+    void fingerprintsSourceVersion() throws Exception {
+        Handler handler = new CountingHandler(ctxt -> {});
+        Context a = context("data");
+        Context b = a.rebuild()
+                .setEnv(new TestProcessingEnvironment() {
+                    @Override
+                    public SourceVersion getSourceVersion() {
+                        return SourceVersion.RELEASE_17;
+                    }
+                })
+                .build();
+
+        assertNotEquals(Fingerprints.fingerprint(handler, a), Fingerprints.fingerprint(handler, b));
+    }
+
+    @Test
+    void streamsResources() throws Exception {
+        Resource.ResourceOpener opener = new Resource.ResourceOpener() {
+            @Override
+            public InputStream open() {
+                return new ByteArrayInputStream(new byte[] {1});
+            }
+
+            @Override
+            public ByteBuffer bytes() {
+                throw new AssertionError("resource loaded into memory");
+            }
+        };
+        Context ctxt = context("data").rebuild()
+                .setResources(List.of(new Resource(opener, "foo.bin")))
+                .build();
+
+        assertNotNull(Fingerprints.fingerprint(new CountingHandler(c -> {}), ctxt));
+    }
+
+    private void build(Handler handler, String data) throws Exception {
+        Fingerprints fingerprints = Fingerprints.load(filer);
+        fingerprints.handle(handler, context(data));
+        fingerprints.write(filer);
+    }
+
+    private Context context(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        Resource resource = new Resource(() -> new ByteArrayInputStream(bytes), "foo.txt");
+        return Context.builder()
+                .setAnnotated(TestElement.INSTANCE)
+                .setEnv(env)
+                .setConfig(emptyList())
+                .setLocation(singletonList(StandardLocation.CLASS_PATH))
+                .setNamer(new Namer())
+                .setPkg(Pkg.named("foo"))
+                .setResources(List.of(resource))
+                .build();
+    }
+
+    private static void generate(Context context) throws Exception {
+        JavaFileObject jfo = context.env().getFiler().createSourceFile("foo.Bar", context.annotated());
+        try (Writer w = jfo.openWriter()) {
+            w.write("package foo; class Bar {}");
+        }
+    }
+
+    private String source(String name) throws Exception {
+        Map<String, TestFileObject> sources = filer.files.get(StandardLocation.SOURCE_OUTPUT);
+        try (InputStream in = sources.get(name).openInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class CountingHandler implements Handler {
+        private final Handler body;
+        private int count;
+
+        CountingHandler(Handler body) {
+            this.body = body;
+        }
+
+        @Override
+        public void handle(Context context) throws Exception {
+            count++;
+            body.handle(context);
+        }
+
+        @Override
+        public boolean deterministic() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.Context;
+import uk.autores.handling.Handler;
+import uk.autores.handling.Pkg;
+import uk.autores.handling.Resource;
+import uk.autores.naming.Namer;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestFiler;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentationTest {
+
+    private final TestFiler filer = new TestFiler() {
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+            return new TestFileObject(true);
+        }
+    };
+    private final TestProcessingEnvironment env = new TestProcessingEnvironment() {
+        @Override
+        public TestFiler getFiler() {
+            return filer;
+        }
+    };
+
+    @Test
+    void writesJson() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.JSON);
+        run(instrumentation, InstrumentationTest::generate, context(env, "foo.txt", "bar\"\n"));
+        run(instrumentation, ctxt -> {}, context(env));
+        instrumentation.write(filer);
+
+        String report = report(instrumentation);
+        assertTrue(report.contains("\"resolution\": {\"probes\": 0, \"misses\": 0}"), report);
+        assertTrue(report.contains("\"probes\": 3, \"misses\": 2, \"sources\": 2, \"generated\": 12"), report);
+        assertTrue(report.contains("{\"name\": \"foo.txt\", \"read\": 10}"), report);
+        assertTrue(report.contains("\"annotated\": \"" + TestElement.INSTANCE + "\""), report);
+        assertTrue(report.contains("\"resources\": []"), report);
+    }
+
+    @Test
+    void writesEmptyJson() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.JSON);
+        instrumentation.write(filer);
+
+        assertTrue(report(instrumentation).endsWith("\"handlers\": []\n}\n"));
+    }
+
+    @Test
+    void escapesJson() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.JSON);
+        run(instrumentation, ctxt -> {}, context(env, "a\"\\\u0001.txt", ""));
+        instrumentation.write(filer);
+
+        assertTrue(report(instrumentation).contains("\"a\\\"\\\\\\u0001.txt\""));
+    }
+
+    @Test
+    void writesCsv() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.CSV);
+        ProcessingEnvironment resolving = instrumentation.resolving(env);
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", "found.txt");
+        resolving.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", "found.txt").openInputStream().close();
+        run(instrumentation, InstrumentationTest::generate, context(resolving, "a,b.txt", "bar"));
+        run(instrumentation, ctxt -> {}, context(resolving, "\"c\".txt", ""));
+        run(instrumentation, ctxt -> {}, context(resolving));
+        instrumentation.write(filer);
+
+        String[] rows = report(instrumentation).split("\n");
+        assertEquals("annotated,handler,resource,nanos,probes,misses,sources,generated,read", rows[0]);
+        assertEquals(",,,,1,0,,,", rows[1]);
+        assertTrue(rows[2].contains(",\"a,b.txt\","), rows[2]);
+        assertTrue(rows[2].endsWith(",3,2,2,12,6"), rows[2]);
+        assertTrue(rows[3].contains(",\"\"\"c\"\".txt\","), rows[3]);
+        assertTrue(rows[4].endsWith(",0,0,0,0,"), rows[4]);
+        assertEquals(5, rows.length);
+    }
+
+    @Test
+    void countsResolutionMisses() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.CSV);
+        Filer resolving = instrumentation.resolving(env).getFiler();
+        FileObject missing = resolving.getResource(StandardLocation.CLASS_OUTPUT, "", "missing.txt");
+        assertThrows(IOException.class, missing::openInputStream);
+        assertThrows(IOException.class, missing::openInputStream);
+        assertThrows(IllegalArgumentException.class,
+                () -> resolving.getResource(StandardLocation.CLASS_PATH, "", "missing.txt"));
+        instrumentation.write(filer);
+
+        assertTrue(report(instrumentation).contains("\n,,,,2,2,,,\n"));
+    }
+
+    @Test
+    void forwardsEnvironment() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(Instrumentation.CSV);
+        ProcessingEnvironment resolving = instrumentation.resolving(env);
+        resolving.getMessager().printMessage(Diagnostic.Kind.ERROR, "error");
+        resolving.getFiler().createClassFile("foo.Bar");
+        resolving.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "bar.txt");
+
+        assertEquals(List.of("error"), env.getMessager().messages.get(Diagnostic.Kind.ERROR));
+        assertTrue(filer.files.get(StandardLocation.CLASS_OUTPUT).containsKey("bar.txt"));
+    }
+
+    private static void run(Instrumentation instrumentation, Handler handler, Context context) throws Exception {
+        Instrumentation.Call call = instrumentation.start(handler, context);
+        try {
+            handler.handle(call.context());
+        } finally {
+            call.end();
+        }
+    }
+
+    private static void generate(Context context) throws Exception {
+        Filer f = context.env().getFiler();
+        Resource resource = context.resources().get(0);
+        assertEquals(resource.size(), resource.bytes().remaining());
+        try (InputStream in = resource.open()) {
+            assertTrue(in.read() >= 0);
+            while (in.read(new byte[2]) >= 0) {
+                // consume
+                assertTrue(in.available() >= 0);
+            }
+            assertEquals(-1, in.read());
+        }
+        f.getResource(StandardLocation.CLASS_OUTPUT, "", "missing.txt");
+        assertThrows(IllegalArgumentException.class,
+                () -> f.getResource(StandardLocation.CLASS_PATH, "", "missing.txt"));
+        try (Writer w = f.createSourceFile("foo.Bar", context.annotated()).openWriter()) {
+            w.write('a');
+            w.write("bc");
+            w.write(new char[]{'d', 'e'});
+        }
+        try (OutputStream out = f.createSourceFile("foo.Baz", context.annotated()).openOutputStream()) {
+            out.write('a');
+            out.write(new byte[]{'b', 'c', 'd', 'e', 'f', 'g'});
+        }
+        assertThrows(IOException.class,
+                () -> f.getResource(StandardLocation.CLASS_OUTPUT, "", "missing.txt").openInputStream());
+    }
+
+    private String report(Instrumentation instrumentation) throws IOException {
+        TestFileObject fo = filer.files.get(StandardLocation.CLASS_OUTPUT).get(instrumentation.name());
+        try (InputStream in = fo.openInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Context context(ProcessingEnvironment env, String... resource) {
+        List<Resource> resources = emptyList();
+        if (resource.length > 0) {
+            byte[] data = resource[1].getBytes(StandardCharsets.UTF_8);
+            resources = singletonList(new Resource(() -> new ByteArrayInputStream(data), resource[0]));
+        }
+        return Context.builder()
+                .setAnnotated(TestElement.INSTANCE)
+                .setEnv(env)
+                .setConfig(emptyList())
+                .setLocation(singletonList(StandardLocation.CLASS_OUTPUT))
+                .setNamer(new Namer())
+                .setPkg(Pkg.named("foo"))
+                .setResources(resources)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.Resource;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestElements;
+import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestPackageElement;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockedTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void locksElements() {
+        Element delegate = new TestElement() {
+            @Override
+            public Element getEnclosingElement() {
+                assertTrue(Thread.holdsLock(lock));
+                return TestPackageElement.INSTANCE;
+            }
+
+            @Override
+            public String toString() {
+                assertTrue(Thread.holdsLock(lock));
+                return "foo";
+            }
+        };
+        Element element = Locked.element(delegate, lock);
+
+        assertEquals("foo", element.toString());
+        assertEquals(delegate.hashCode(), element.hashCode());
+        assertEquals(element, element);
+        assertSame(element, Locked.element(element, lock));
+        assertSame(delegate, Locked.unwrap(element));
+        assertSame(delegate, Locked.unwrap(delegate));
+        assertNull(Locked.element(null, lock));
+
+        Element enclosing = element.getEnclosingElement();
+        assertInstanceOf(PackageElement.class, enclosing);
+        assertSame(TestPackageElement.INSTANCE, Locked.unwrap(enclosing));
+    }
+
+    @Test
+    void unwrapsArguments() {
+        Elements delegate = new TestElements() {
+            @Override
+            public PackageElement getPackageOf(Element type) {
+                assertTrue(Thread.holdsLock(lock));
+                assertSame(TestElement.INSTANCE, type);
+                return super.getPackageOf(type);
+            }
+
+            @Override
+            public void printElements(Writer w, Element... elements) {
+                assertTrue(Thread.holdsLock(lock));
+                assertArrayEquals(new Element[] {TestElement.INSTANCE}, elements);
+            }
+        };
+        Elements elements = Locked.proxy(Elements.class, delegate, lock);
+        Element element = Locked.element(TestElement.INSTANCE, lock);
+
+        PackageElement pkg = elements.getPackageOf(element);
+        assertSame(TestPackageElement.INSTANCE, Locked.unwrap(pkg));
+        elements.printElements(Writer.nullWriter(), element);
+        assertArrayEquals(new Element[] {TestElement.INSTANCE}, Locked.unwrap(new Element[] {element}));
+        assertNull(Locked.proxy(Elements.class, null, lock));
+    }
+
+    @Test
+    void throwsDelegateExceptions() {
+        Element element = Locked.element(TestElement.INSTANCE, lock);
+        assertThrows(UnsupportedOperationException.class, element::getSimpleName);
+    }
+
+    @Test
+    void locksFiles() throws IOException {
+        TestFileObject delegate = new TestFileObject(true) {
+            @Override
+            public InputStream openInputStream() throws IOException {
+                assertTrue(Thread.holdsLock(lock));
+                return super.openInputStream();
+            }
+
+            @Override
+            public Reader openReader(boolean ignoreEncodingErrors) {
+                assertTrue(Thread.holdsLock(lock));
+                return Reader.nullReader();
+            }
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                assertTrue(Thread.holdsLock(lock));
+                return "";
+            }
+
+            @Override
+            public long getLastModified() {
+                assertTrue(Thread.holdsLock(lock));
+                return 1L;
+            }
+        };
+        FileObject file = Locked.file(delegate, lock);
+
+        try (InputStream in = file.openInputStream()) {
+            assertEquals(-1, in.read());
+        }
+        try (Reader reader = file.openReader(true)) {
+            assertEquals(-1, reader.read());
+        }
+        assertEquals("", file.getCharContent(true));
+        assertEquals(1L, file.getLastModified());
+    }
+
+    @Test
+    void locksResources() throws IOException {
+        byte[] data = {1, 2, 3};
+        Resource delegate = new Resource(() -> {
+            assertTrue(Thread.holdsLock(lock));
+            return new ByteArrayInputStream(data);
+        }, "foo.bin");
+        Resource resource = Locked.resource(delegate, lock);
+
+        assertEquals("foo.bin", resource.toString());
+        assertEquals(data.length, resource.size());
+        assertEquals(data.length, resource.bytes().remaining());
+        try (InputStream in = resource.open()) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.Context;
+import uk.autores.handling.Handler;
+import uk.autores.handling.Pkg;
+import uk.autores.handling.Resource;
+import uk.autores.naming.Namer;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelHandlersTest {
+
+    private final TestProcessingEnvironment env = new TestProcessingEnvironment();
+
+    @Test
+    void commitsInSubmissionOrder() {
+        CountDownLatch first = new CountDownLatch(1);
+        try (ParallelHandlers parallel = new ParallelHandlers(env, 2, null, null)) {
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> {
+                first.await();
+                ctxt.printError("first");
+            }));
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> {
+                try (Writer w = ctxt.env().getFiler().createSourceFile("foo.Bar").openWriter()) {
+                    w.write("second");
+                }
+                ctxt.printError("second");
+                first.countDown();
+            }));
+            parallel.commit();
+        }
+
+        List<CharSequence> errors = env.getMessager().messages.get(Diagnostic.Kind.ERROR);
+        assertEquals(List.of("first", "second"), errors);
+        assertTrue(env.getFiler().files.get(StandardLocation.SOURCE_OUTPUT).containsKey("foo.Bar"));
+    }
+
+    @Test
+    void reportsHandlerFailures() {
+        try (ParallelHandlers parallel = new ParallelHandlers(env, 2, null, null)) {
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> { throw new Exception("exception"); }));
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> { throw new AssertionError("error"); }));
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> ctxt.env().getFiler().createClassFile("foo.Bar")));
+            parallel.commit();
+        }
+
+        List<CharSequence> errors = env.getMessager().messages.get(Diagnostic.Kind.ERROR);
+        assertEquals(3, errors.size());
+    }
+
+    @Test
+    void reportsInterruption() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        try (ParallelHandlers parallel = new ParallelHandlers(env, 1, null, null)) {
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> latch.await()));
+            Thread.currentThread().interrupt();
+            parallel.commit();
+            assertTrue(Thread.interrupted());
+        } finally {
+            latch.countDown();
+        }
+
+        List<CharSequence> errors = env.getMessager().messages.get(Diagnostic.Kind.ERROR);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void reusesThreadsAcrossRounds() {
+        Thread[] threads = new Thread[2];
+        try (ParallelHandlers parallel = new ParallelHandlers(env, 1, null, null)) {
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> threads[0] = Thread.currentThread()));
+            parallel.commit();
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> threads[1] = Thread.currentThread()));
+            parallel.commit();
+        }
+
+        assertNotNull(threads[0]);
+        assertSame(threads[0], threads[1]);
+    }
+
+    @Test
+    void locksAnnotatedElements() {
+        Element[] annotated = new Element[1];
+        try (ParallelHandlers parallel = new ParallelHandlers(env, 1, null, null)) {
+            parallel.submit(TestElement.INSTANCE, pairs(ctxt -> annotated[0] = ctxt.annotated()));
+            parallel.commit();
+        }
+
+        assertNotSame(TestElement.INSTANCE, annotated[0]);
+        assertSame(TestElement.INSTANCE, Locked.unwrap(annotated[0]));
+    }
+
+    private List<ContextFactory.Pair> pairs(Handler handler) {
+        Context context = Context.builder()
+                .setAnnotated(TestElement.INSTANCE)
+                .setEnv(env)
+                .setConfig(emptyList())
+                .setLocation(singletonList(StandardLocation.CLASS_OUTPUT))
+                .setNamer(new Namer())
+                .setPkg(Pkg.named("foo"))
+                .setResources(singletonList(new Resource(() -> InputStream.nullInputStream(), "foo.txt")))
+                .build();
+        return singletonList(new ContextFactory.Pair(context, handler));
+    }
+}
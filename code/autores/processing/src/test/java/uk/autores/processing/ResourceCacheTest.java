@@ -0,0 +1,168 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.Resource;
+import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestFiler;
+
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceCacheTest {
+
+    @Test
+    void readsOnce() throws IOException {
+        ResourceCache cache = new ResourceCache(1024);
+        CountingFileObject file = new CountingFileObject(10);
+        Resource.ResourceOpener opener = cache.opener(StandardLocation.CLASS_PATH, "foo", "bar.txt", file);
+
+        assertSame(opener, cache.opener(StandardLocation.CLASS_PATH, "foo", "bar.txt", new CountingFileObject(1)));
+        assertEquals(10, opener.size());
+        assertEquals(10, opener.bytes().remaining());
+        try (InputStream in = opener.open()) {
+            assertEquals(10, in.readAllBytes().length);
+        }
+        assertEquals(1, file.opens);
+        assertEquals(10, cache.used());
+    }
+
+    @Test
+    void viewIsReadOnly() throws IOException {
+        ResourceCache cache = new ResourceCache(1024);
+        ByteBuffer bytes = cache.opener(StandardLocation.CLASS_PATH, "", "a", new CountingFileObject(4))
+                .bytes();
+        assertTrue(bytes.isReadOnly());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws IOException {
+        ResourceCache cache = new ResourceCache(40);
+        CountingFileObject a = new CountingFileObject(10);
+        CountingFileObject b = new CountingFileObject(10);
+        CountingFileObject c = new CountingFileObject(10);
+        CountingFileObject d = new CountingFileObject(10);
+        CountingFileObject e = new CountingFileObject(10);
+        Resource.ResourceOpener ra = cache.opener(StandardLocation.CLASS_PATH, "", "a", a);
+        Resource.ResourceOpener rb = cache.opener(StandardLocation.CLASS_PATH, "", "b", b);
+        ra.size();
+        rb.size();
+        cache.opener(StandardLocation.CLASS_PATH, "", "c", c).size();
+        cache.opener(StandardLocation.CLASS_PATH, "", "d", d).size();
+        ra.bytes();
+        cache.opener(StandardLocation.CLASS_PATH, "", "e", e).size();
+        assertEquals(40, cache.used());
+
+        ra.bytes();
+        assertEquals(1, a.opens);
+        assertEquals(10, rb.size());
+        assertEquals(1, b.opens);
+        rb.bytes();
+        assertEquals(2, b.opens);
+    }
+
+    @Test
+    void largeResourcesAreNotRetained() throws IOException {
+        ResourceCache cache = new ResourceCache(40);
+        CountingFileObject file = new CountingFileObject(11);
+        Resource.ResourceOpener opener = cache.opener(StandardLocation.CLASS_PATH, "", "big", file);
+
+        assertEquals(11, opener.size());
+        assertEquals(11, opener.size());
+        assertEquals(1, file.opens);
+        assertEquals(11, opener.bytes().remaining());
+        assertEquals(2, file.opens);
+        assertEquals(0, cache.used());
+    }
+
+    @Test
+    void resolvesInLocationOrder() throws IOException {
+        ResourceCache cache = new ResourceCache(1024);
+        ProbingFiler filer = new ProbingFiler();
+        filer.files.get(StandardLocation.SOURCE_PATH).put("foo/a.txt", new CountingFileObject(1));
+        filer.files.get(StandardLocation.SOURCE_PATH).put("foo/b.txt", new CountingFileObject(2));
+        filer.files.get(StandardLocation.CLASS_OUTPUT).put("foo/b.txt", new CountingFileObject(3));
+        List<JavaFileManager.Location> locations = List.of(StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH);
+
+        assertEquals(1, cache.resolve(filer, locations, "foo", "a.txt").size());
+        assertEquals(2, filer.probes);
+        assertEquals(3, cache.resolve(filer, locations, "foo", "b.txt").size());
+        assertEquals(3, filer.probes);
+        cache.resolve(filer, locations, "foo", "a.txt");
+        assertEquals(3, filer.probes);
+    }
+
+    @Test
+    void remembersMissesForRound() throws IOException {
+        ResourceCache cache = new ResourceCache(1024);
+        ProbingFiler filer = new ProbingFiler();
+        filer.files.get(StandardLocation.SOURCE_PATH).put("foo/a.txt", new CountingFileObject(1));
+        filer.files.get(StandardLocation.CLASS_OUTPUT).put("foo/b.txt", new CountingFileObject(2));
+        List<JavaFileManager.Location> locations = List.of(StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH);
+        List<JavaFileManager.Location> reversed = List.of(StandardLocation.SOURCE_PATH, StandardLocation.CLASS_OUTPUT);
+
+        cache.resolve(filer, locations, "foo", "a.txt");
+        cache.resolve(filer, reversed, "foo", "a.txt");
+        assertEquals(2, filer.probes);
+        assertEquals(2, cache.resolve(filer, locations, "foo", "b.txt").size());
+        assertEquals(3, filer.probes);
+
+        cache.resolve(filer, locations, "foo", "a.txt");
+        assertEquals(3, filer.probes);
+
+        assertThrows(IOException.class, () -> cache.resolve(filer, locations, "foo", "c.txt"));
+        filer.files.get(StandardLocation.CLASS_OUTPUT).put("foo/c.txt", new CountingFileObject(3));
+        assertThrows(IOException.class, () -> cache.resolve(filer, locations, "foo", "c.txt"));
+        cache.round();
+        assertEquals(3, cache.resolve(filer, locations, "foo", "c.txt").size());
+    }
+
+    @Test
+    void reportsReasonsWhenNotFound() {
+        ResourceCache cache = new ResourceCache(1024);
+        ProbingFiler filer = new ProbingFiler();
+        List<JavaFileManager.Location> locations = List.of(StandardLocation.CLASS_OUTPUT, StandardLocation.CLASS_PATH);
+
+        IOException first = assertThrows(IOException.class, () -> cache.resolve(filer, locations, "foo", "a.txt"));
+        IOException second = assertThrows(IOException.class, () -> cache.resolve(filer, locations, "foo", "a.txt"));
+        assertEquals(first.getMessage(), second.getMessage());
+        assertTrue(first.getMessage().contains(StandardLocation.CLASS_PATH.getName()), first.getMessage());
+    }
+
+    private static final class ProbingFiler extends TestFiler {
+        int probes;
+
+        @Override
+        public FileObject getResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName)
+                throws IOException {
+            probes++;
+            return super.getResource(location, pkg, relativeName);
+        }
+    }
+
+    private static final class CountingFileObject extends TestFileObject {
+        int opens;
+
+        CountingFileObject(int size) throws IOException {
+            super(true);
+            try (OutputStream out = openOutputStream()) {
+                out.write(new byte[size]);
+            }
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            opens++;
+            return super.openInputStream();
+        }
+    }
+}
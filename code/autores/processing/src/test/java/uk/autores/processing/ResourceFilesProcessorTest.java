@@ -12,9 +12,17 @@ import uk.autores.processing.testing.env.TestProcessingEnvironment;
 import uk.autores.repeat.*;
 
 import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -24,6 +32,8 @@ import static org.junit.jupiter.api.Assertions.*;
 // https://blog.jooq.org/how-to-unit-test-your-annotation-processor-using-joor/
 class ResourceFilesProcessorTest {
 
+  private static final String REPORT_DIR = "target/report-test";
+
   private DecoratedProcessor processor;
 
   @BeforeEach
@@ -51,6 +61,120 @@ class ResourceFilesProcessorTest {
             .map(Class::getName)
             .collect(Collectors.toSet());
     assertEquals(expected, processor.getSupportedAnnotationTypes());
+    assertTrue(processor.getSupportedOptions().contains(Options.PARALLELISM));
+  }
+
+  @Test
+  void notIncrementalByDefault() {
+    processor.init(new TestProcessingEnvironment());
+    Set<String> options = processor.getSupportedOptions();
+    assertFalse(options.contains(Options.GRADLE_ISOLATING));
+    assertFalse(options.contains(Options.GRADLE_AGGREGATING));
+  }
+
+  @Test
+  void isolatingWhenRequested() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.INCREMENTAL, "isolating");
+    processor.init(env);
+    Set<String> options = processor.getSupportedOptions();
+    assertTrue(options.contains(Options.GRADLE_ISOLATING));
+    assertFalse(options.contains(Options.GRADLE_AGGREGATING));
+  }
+
+  @Test
+  void aggregatingWhenRequested() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.INCREMENTAL, "aggregating");
+    processor.init(env);
+    Set<String> options = processor.getSupportedOptions();
+    assertTrue(options.contains(Options.GRADLE_AGGREGATING));
+    assertFalse(options.contains(Options.GRADLE_ISOLATING));
+  }
+
+  @Test
+  void writesFingerprints() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.FINGERPRINTS, "true");
+    env.options.put(Options.INCREMENTAL, "isolating");
+    processor.init(env);
+    assertTrue(processor.getSupportedOptions().contains(Options.GRADLE_AGGREGATING));
+
+    assertFalse(processor.process(Set.of(), lastRound()));
+    assertTrue(env.getFiler().files.get(StandardLocation.SOURCE_OUTPUT).containsKey(Fingerprints.MANIFEST));
+  }
+
+  @Test
+  void writesReport() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.REPORT, Instrumentation.JSON);
+    env.options.put(Options.INCREMENTAL, "isolating");
+    processor.init(env);
+    assertTrue(processor.getSupportedOptions().contains(Options.GRADLE_AGGREGATING));
+
+    assertFalse(processor.process(Set.of(), lastRound()));
+    String report = Instrumentation.REPORT + "." + Instrumentation.JSON;
+    assertTrue(env.getFiler().files.get(StandardLocation.CLASS_OUTPUT).containsKey(report));
+  }
+
+  @Test
+  void badReportIsError() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.REPORT, "xml");
+    processor.init(env);
+
+    assertFalse(processor.process(Set.of(), lastRound()));
+    assertEquals(1, env.getMessager().messages.get(Diagnostic.Kind.ERROR).size());
+  }
+
+  @Test
+  void badParallelismIsErrorOnce() {
+    TestProcessingEnvironment env = new TestProcessingEnvironment();
+    env.options.put(Options.PARALLELISM, "many");
+    processor.init(env);
+
+    assertFalse(processor.process(Set.of(), lastRound()));
+    assertFalse(processor.process(Set.of(), lastRound()));
+    assertEquals(1, env.getMessager().messages.get(Diagnostic.Kind.ERROR).size());
+  }
+
+  private static RoundEnvironment lastRound() {
+    return new RoundEnvironment() {
+      @Override
+      public boolean processingOver() {
+        return true;
+      }
+
+      @Override
+      public boolean errorRaised() {
+        return false;
+      }
+
+      @Override
+      public Set<? extends Element> getRootElements() {
+        return Set.of();
+      }
+
+      @Override
+      public Set<? extends Element> getElementsAnnotatedWith(TypeElement a) {
+        return Set.of();
+      }
+
+      @Override
+      public Set<? extends Element> getElementsAnnotatedWith(Class<? extends Annotation> a) {
+        return Set.of();
+      }
+    };
+  }
+
+  @Test
+  void registeredForGradleIncrementalProcessing() throws IOException {
+    String registration = "META-INF/gradle/incremental.annotation.processors";
+    try (InputStream in = ResourceFilesProcessor.class.getClassLoader().getResourceAsStream(registration)) {
+      assertNotNull(in);
+      String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertEquals(ResourceFilesProcessor.class.getName() + ",dynamic", content.trim());
+    }
   }
 
   @Test
@@ -171,4 +295,72 @@ class ResourceFilesProcessorTest {
     ).create().get();
     assertTrue(processor.invoked);
   }
+
+  @Test
+  void parallelHandlersProcessed() throws IOException {
+    TestSources.Source src = TestSources.load(this, "SpecificResourcesRepeated_OK.java");
+    Reflect.compile(
+            src.className,
+            src.sourceCode,
+            new CompileOptions().processors(processor).options("-A" + Options.PARALLELISM + "=4")
+    ).create().get();
+    assertTrue(processor.invoked);
+  }
+
+  @Test
+  void parallelThrowingHandlerFailsCompilation() throws IOException {
+    TestSources.Source src = TestSources.load(this, "ThrowingHandlerTest.java");
+    try {
+      Reflect.compile(
+              src.className,
+              src.sourceCode,
+              new CompileOptions().processors(processor).options("-A" + Options.PARALLELISM + "=2")
+      ).create().get();
+      fail();
+    } catch (ReflectException e) {
+      assertTrue(processor.invoked);
+    }
+  }
+
+  @Test
+  void instrumentedHandlersProcessed() throws IOException {
+    TestSources.Source src = TestSources.load(this, "SpecificResourcesRepeated_OK.java");
+    Reflect.compile(
+            src.className,
+            src.sourceCode,
+            new CompileOptions().processors(processor).options(
+                    "-A" + Options.REPORT + "=" + Instrumentation.CSV,
+                    "-d", REPORT_DIR)
+    ).create().get();
+    assertTrue(processor.invoked);
+  }
+
+  @Test
+  void instrumentedParallelHandlersProcessed() throws IOException {
+    TestSources.Source src = TestSources.load(this, "SpecificResourcesRepeated_OK.java");
+    Reflect.compile(
+            src.className,
+            src.sourceCode,
+            new CompileOptions().processors(processor).options(
+                    "-A" + Options.REPORT + "=" + Instrumentation.JSON,
+                    "-A" + Options.PARALLELISM + "=2",
+                    "-d", REPORT_DIR)
+    ).create().get();
+    assertTrue(processor.invoked);
+  }
+
+  @Test
+  void badParallelismFailsCompilation() throws IOException {
+    TestSources.Source src = TestSources.load(this, "ClasspathResource_OK.java");
+    try {
+      Reflect.compile(
+              src.className,
+              src.sourceCode,
+              new CompileOptions().processors(processor).options("-A" + Options.PARALLELISM + "=none")
+      ).create().get();
+      fail();
+    } catch (ReflectException e) {
+      assertTrue(processor.invoked);
+    }
+  }
 }
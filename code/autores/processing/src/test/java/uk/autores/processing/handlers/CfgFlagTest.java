@@ -0,0 +1,59 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import uk.autores.handling.Config;
+import uk.autores.handling.ConfigDef;
+import uk.autores.handling.Context;
+import uk.autores.handling.Pkg;
+import uk.autores.naming.Namer;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.tools.StandardLocation;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CfgFlagTest {
+
+    static Stream<ConfigDef> flags() {
+        return Stream.of(CfgLines.DEF, CfgPreload.DEF, CfgReaders.DEF, CfgStreams.DEF);
+    }
+
+    @ParameterizedTest
+    @MethodSource("flags")
+    void validates(ConfigDef def) {
+        for (String v : asList(CfgFlag.FALSE, CfgFlag.TRUE)) {
+            assertTrue(def.isValid(v));
+        }
+        assertFalse(def.isValid("foobar"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("flags")
+    void enables(ConfigDef def) {
+        assertTrue(CfgFlag.enabled(context(singletonList(new Config(def.key(), CfgFlag.TRUE))), def));
+        assertFalse(CfgFlag.enabled(context(singletonList(new Config(def.key(), CfgFlag.FALSE))), def));
+        assertFalse(CfgFlag.enabled(context(emptyList()), def));
+    }
+
+    private static Context context(List<Config> config) {
+        return Context.builder()
+                .setAnnotated(TestElement.INSTANCE)
+                .setEnv(new TestProcessingEnvironment())
+                .setConfig(config)
+                .setLocation(singletonList(StandardLocation.CLASS_PATH))
+                .setNamer(new Namer())
+                .setPkg(Pkg.named(""))
+                .setResources(emptyList())
+                .build();
+    }
+}
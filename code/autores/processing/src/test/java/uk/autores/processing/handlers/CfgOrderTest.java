@@ -0,0 +1,39 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.Endian;
+import uk.autores.handling.ConfigDef;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CfgOrderTest {
+
+    private static final List<String> VALUES = List.of(CfgOrder.BIG, CfgOrder.LITTLE);
+
+    @Test
+    void validates() {
+        ConfigDef def = CfgOrder.DEF;
+        for (String value : VALUES) {
+            assertTrue(def.isValid(value));
+        }
+        assertFalse(def.isValid("foobar"));
+        assertFalse(def.isValid("BIG"));
+    }
+
+    @Test
+    void matches() {
+        Set<String> tokens = Stream.of(Endian.values())
+                .map(Endian::token)
+                .collect(Collectors.toSet());
+        assertEquals(Set.copyOf(VALUES), tokens);
+    }
+}
@@ -17,7 +17,7 @@ class CfgStrategyTest {
     @Test
     void validates() {
         ConfigDef def = CfgStrategy.DEF;
-        for (String enc : asList(CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.LAZY, CfgStrategy.CONST)) {
+        for (String enc : asList(CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.LAZY, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED)) {
             assertTrue(def.isValid(enc));
         }
         assertFalse(def.isValid("foobar"));
@@ -26,7 +26,7 @@ class CfgStrategyTest {
 
     @Test
     void matches() {
-        for (String enc : asList(CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.LAZY, CfgStrategy.CONST)) {
+        for (String enc : asList(CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.LAZY, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED)) {
             boolean found = Stream.of(Strategy.values())
                     .map(Strategy::token)
                     .anyMatch(enc::equals);
@@ -0,0 +1,33 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHashTest {
+
+    @Test
+    void hashesContent() throws IOException {
+        ByteBuffer foo = hash("foo");
+        assertEquals(foo, hash("foo"));
+        assertEquals(foo.hashCode(), hash("foo").hashCode());
+        assertNotEquals(foo, hash("bar"));
+        assertEquals(32, foo.remaining());
+    }
+
+    @Test
+    void reportsBadAlgorithm() {
+        assertThrows(IllegalStateException.class, () -> ContentHash.digest("no such algorithm"));
+    }
+
+    private static ByteBuffer hash(String s) throws IOException {
+        return ContentHash.of(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
+    }
+}
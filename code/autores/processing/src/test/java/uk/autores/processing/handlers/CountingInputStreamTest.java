@@ -0,0 +1,26 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingInputStreamTest {
+
+    @Test
+    void countsBytes() throws IOException {
+        try (CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(new byte[10]))) {
+            assertEquals(0, in.read());
+            assertEquals(3, in.read(new byte[3]));
+            assertEquals(2, in.skip(2));
+            assertEquals(4, in.read(new byte[8], 0, 8));
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[1]));
+            assertEquals(10, in.count());
+        }
+    }
+}
@@ -2,23 +2,40 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.processing.handlers;
 
+import org.joor.Reflect;
+import org.joor.ReflectException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import uk.autores.handling.Config;
 import uk.autores.handling.ConfigDef;
 import uk.autores.handling.Handler;
+import uk.autores.handling.Resource;
 import uk.autores.processing.testing.HandlerResults;
 import uk.autores.processing.testing.HandlerTester;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static uk.autores.processing.handlers.CfgStrategy.STRATEGY;
 
 class GenerateByteArraysFromFilesTest {
@@ -29,26 +46,491 @@ class GenerateByteArraysFromFilesTest {
         return new HandlerTester(handler);
     }
 
+    /** Tester generating class Foo with the given strategy and extra options. */
+    private HandlerTester foo(String strategy, Config... config) {
+        List<Config> cfg = new ArrayList<>();
+        cfg.add(new Config(STRATEGY, strategy));
+        cfg.add(new Config(CfgName.NAME, "Foo"));
+        cfg.addAll(asList(config));
+        return tester().withConfig(cfg);
+    }
+
     @Test
     void checkConfigDefs() {
         Set<ConfigDef> supported = handler.config();
         assertTrue(supported.contains(CfgVisibility.DEF));
         assertTrue(supported.contains(CfgStrategy.DEF));
         assertTrue(supported.contains(CfgName.DEF));
+        assertTrue(supported.contains(CfgBuffer.DEF));
+        assertTrue(supported.contains(CfgStreams.DEF));
+        assertTrue(supported.contains(CfgPreload.DEF));
+        assertTrue(supported.contains(CfgElements.DEF));
+        assertTrue(supported.contains(CfgOrder.DEF));
+    }
+
+    @Test
+    void isDeterministic() {
+        assertTrue(handler.deterministic());
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.LAZY})
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.LAZY, CfgStrategy.MEMO, CfgStrategy.COMPRESSED})
     void canGenerateByteArraysFromFiles(String strat) throws Exception {
-        List<Config> cfg = asList(new Config(STRATEGY, strat), new Config(CfgName.NAME, "Foo"));
-        HandlerResults results = tester()
-                .withConfig(cfg)
+        HandlerResults results = foo(strat)
                 .withLargeAndSmallTextFiles(1024)
                 .test();
         results.assertNoErrorMessagesReported();
         results.assertAllGeneratedFilesCompile(1);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED})
+    void generatesSharedBuffers(String strat) throws Exception {
+        byte[] data = "\0\1\2buffer".getBytes(StandardCharsets.UTF_8);
+        HandlerResults hr = foo(strat, new Config(CfgBuffer.BUFFER, CfgBuffer.HEAP))
+                .withResource("foo.bin", data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        ByteBuffer first = foo.call("fooBuffer").get();
+        ByteBuffer second = foo.call("fooBuffer").get();
+        assertTrue(first.isReadOnly());
+        assertNotSame(first, second);
+        assertEquals(ByteBuffer.wrap(data), first);
+        first.get();
+        assertEquals(0, second.position());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED})
+    void embedsIdenticalResourcesOnce(String strat) throws Exception {
+        byte[] data = "\0\1\2duplicate".repeat(100).getBytes(StandardCharsets.UTF_8);
+        HandlerResults hr = foo(strat,
+                new Config(CfgBuffer.BUFFER, CfgBuffer.HEAP),
+                new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("bar.bin", data)
+                .withResource("foo.bin", data)
+                .withResource("other.bin", "other".getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        for (String name : asList("bar", "foo")) {
+            assertArrayEquals(data, foo.call(name).get());
+            assertEquals(ByteBuffer.wrap(data), foo.call(name + "Buffer").get());
+            assertStreams(foo, name, data);
+        }
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("return bar();"));
+        assertFalse(src.contains("return foo();"));
+        assertFalse(src.contains("return other();"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgElements.SHORT, CfgElements.CHAR, CfgElements.INT, CfgElements.LONG, CfgElements.FLOAT, CfgElements.DOUBLE})
+    void generatesPrimitiveArrays(String type) throws Exception {
+        byte[] data = new byte[64];
+        new Random(0).nextBytes(data);
+        String title = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+
+        for (String order : asList(CfgOrder.BIG, CfgOrder.LITTLE)) {
+            HandlerResults hr = foo(CfgStrategy.CONST,
+                    new Config(CfgElements.ELEMENTS, type),
+                    new Config(CfgOrder.ORDER, order))
+                    .withResource("foo.bin", data)
+                    .withResource("bar.bin", data)
+                    .test();
+            hr.assertNoErrorMessagesReported();
+
+            Reflect foo = hr.compile("Foo");
+            ByteBuffer expected = ByteBuffer.wrap(data)
+                    .order(CfgOrder.BIG.equals(order) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            for (String name : asList("foo", "bar")) {
+                Object actual = foo.call(name + title + "s").get();
+                int len = Array.getLength(actual);
+                for (int i = 0; i < len; i++) {
+                    assertEquals(element(expected, type, i), Array.get(actual, i));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgElements.SHORT, CfgElements.CHAR, CfgElements.INT, CfgElements.LONG, CfgElements.FLOAT, CfgElements.DOUBLE})
+    void omitsPrimitiveArraysForBadSizes(String type) throws Exception {
+        byte[] data = new byte[65];
+        String title = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+        HandlerResults hr = foo(CfgStrategy.CONST, new Config(CfgElements.ELEMENTS, type))
+                .withResource("foo.bin", data)
+                .test();
+        hr.assertErrorMessageReported("size 65 is not a multiple of");
+
+        Reflect foo = hr.compile("Foo");
+        assertArrayEquals(data, foo.call("foo").get());
+        assertThrows(ReflectException.class, () -> foo.call("foo" + title + "s"));
+    }
+
+    private static Object element(ByteBuffer buf, String type, int index) {
+        switch (type) {
+            case CfgElements.SHORT:
+                return buf.getShort(index * Short.BYTES);
+            case CfgElements.CHAR:
+                return buf.getChar(index * Character.BYTES);
+            case CfgElements.INT:
+                return buf.getInt(index * Integer.BYTES);
+            case CfgElements.LONG:
+                return buf.getLong(index * Long.BYTES);
+            case CfgElements.FLOAT:
+                return buf.getFloat(index * Float.BYTES);
+            default:
+                return buf.getDouble(index * Double.BYTES);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgBuffer.HEAP, CfgBuffer.MAPPED, CfgBuffer.DIRECT})
+    void decodesPrimitiveArraysFromBuffers(String buffer) throws Exception {
+        byte[] data = {0, 0, 0, 1, 0, 0, 0, 2};
+        HandlerResults hr = foo(CfgStrategy.MEMO,
+                new Config(CfgBuffer.BUFFER, buffer),
+                new Config(CfgElements.ELEMENTS, CfgElements.INT))
+                .withResource("foo.bin", data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("buffer$foo.BUFFER.duplicate()"));
+        if (!CfgBuffer.MAPPED.equals(buffer)) {
+            Reflect foo = hr.compile("Foo");
+            int[] first = foo.call("fooInts").get();
+            assertArrayEquals(new int[] {1, 2}, first);
+            first[0] = 0;
+            assertArrayEquals(new int[] {1, 2}, foo.call("fooInts").get());
+        } else {
+            hr.assertAllGeneratedFilesCompile(1);
+        }
+    }
+
+    @Test
+    void reportsBadElementSize() throws Exception {
+        List<Config> cfg = asList(
+                new Config(CfgName.NAME, "Foo"),
+                new Config(CfgElements.ELEMENTS, CfgElements.INT)
+        );
+        tester().withConfig(cfg)
+                .withResource("foo.bin", new byte[6])
+                .withResource("bar.bin", new byte[6])
+                .test()
+                .assertErrorMessagesReported();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.LAZY, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void readsResourcesOnce(String strat) throws Exception {
+        byte[] data = "\0\1\2once".repeat(100).getBytes(StandardCharsets.UTF_8);
+        AtomicInteger opens = new AtomicInteger();
+        Resource resource = new Resource(() -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(data);
+        }, "foo.bin");
+
+        HandlerResults hr = foo(strat, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource(resource)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertEquals(1, opens.get());
+    }
+
+    @Test
+    void readsLargeResourcesAgain() throws Exception {
+        byte[] data = new byte[(1 << 20) + 1];
+        AtomicInteger opens = new AtomicInteger();
+        Resource resource = new Resource(() -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(data);
+        }, "foo.bin");
+
+        HandlerResults hr = foo(CfgStrategy.COMPRESSED)
+                .withResource(resource)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertEquals(2, opens.get());
+    }
+
+    @Test
+    void choosesConstEncodingWithoutReading() throws Exception {
+        byte[] data = new byte[(1 << 20) + 1];
+        AtomicInteger opens = new AtomicInteger();
+        Resource resource = new Resource(() -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(data);
+        }, "foo.bin");
+
+        HandlerResults hr = foo(CfgStrategy.CONST)
+                .withResource(resource)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertEquals(2, opens.get());
+    }
+
+    @Test
+    void memoReturnsCopies() throws Exception {
+        byte[] data = "memo".getBytes(StandardCharsets.UTF_8);
+        HandlerResults hr = foo(CfgStrategy.MEMO, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("foo.bin", data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertStreams(foo, "foo", data);
+        byte[] first = foo.call("foo").get();
+        first[0] = 0;
+        byte[] second = foo.call("foo").get();
+        assertArrayEquals(data, second);
+        assertTrue(hr.generatedSource().get("Foo").contains("private static byte[] raw$foo()"));
+    }
+
+    @Test
+    void constChoosesEncoding() throws Exception {
+        Random random = new Random(0);
+        byte[] binary = new byte[50_000];
+        random.nextBytes(binary);
+        byte[] text = "text\0".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] utf16 = "odd utf16".getBytes(StandardCharsets.UTF_16BE);
+        byte[] empty = {};
+
+        HandlerResults hr = foo(CfgStrategy.CONST)
+                .withResource("binary.bin", binary)
+                .withResource("text.txt", text)
+                .withResource("utf16.txt", Arrays.copyOf(utf16, utf16.length - 1))
+                .withResource("empty.bin", empty)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertArrayEquals(binary, foo.call("binary").get());
+        assertArrayEquals(text, foo.call("text").get());
+        assertArrayEquals(Arrays.copyOf(utf16, utf16.length - 1), foo.call("utf16").get());
+        assertArrayEquals(empty, foo.call("empty").get());
+
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("off = latin1$("), src);
+        assertTrue(src.contains(").getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);"), src);
+        assertTrue(src.contains("decode$("), src);
+    }
+
+    @Test
+    void compressedRoundTrips() throws Exception {
+        byte[] repetitive = "compress me ".repeat(20_000).getBytes(StandardCharsets.UTF_8);
+        byte[] random = new byte[100_000];
+        new Random(0).nextBytes(random);
+        byte[] empty = {};
+
+        HandlerResults hr = foo(CfgStrategy.COMPRESSED)
+                .withResource("repetitive.txt", repetitive)
+                .withResource("random.bin", random)
+                .withResource("empty.bin", empty)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertArrayEquals(repetitive, foo.call("repetitive").get());
+        assertArrayEquals(random, foo.call("random").get());
+        assertArrayEquals(empty, foo.call("empty").get());
+    }
+
+    @Test
+    void mapsFileBuffers() throws Exception {
+        // resolved relative to the unnamed package
+        String fileResource = "uk/autores/processing/SpecificResources_OK.java";
+        String jarResource = "org/junit/jupiter/api/Test.class";
+        byte[] file = read(fileResource);
+        byte[] jar = read(jarResource);
+
+        HandlerResults hr = foo(CfgStrategy.LAZY, new Config(CfgBuffer.BUFFER, CfgBuffer.MAPPED))
+                .withResource(fileResource, file)
+                .withResource(jarResource, jar)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        ByteBuffer mapped = foo.call("SpecificResources_OKBuffer").get();
+        assertTrue(mapped.isDirect());
+        assertTrue(mapped.isReadOnly());
+        assertEquals(ByteBuffer.wrap(file), mapped);
+
+        ByteBuffer copied = foo.call("TestBuffer").get();
+        assertFalse(copied.isDirect());
+        assertTrue(copied.isReadOnly());
+        assertEquals(ByteBuffer.wrap(jar), copied);
+    }
+
+    private static byte[] read(String resource) throws Exception {
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            return in.readAllBytes();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.LAZY, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED})
+    void generatesDirectBuffers(String strat) throws Exception {
+        // resolved relative to the unnamed package
+        String resource = "org/junit/jupiter/api/Test.class";
+        byte[] data = read(resource);
+
+        HandlerResults hr = foo(strat, new Config(CfgBuffer.BUFFER, CfgBuffer.DIRECT))
+                .withResource(resource, data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        ByteBuffer direct = foo.call("TestBuffer").get();
+        assertTrue(direct.isDirect());
+        assertTrue(direct.isReadOnly());
+        assertEquals(ByteBuffer.wrap(data), direct);
+
+        boolean streamed = hr.generatedSource().get("Foo").contains("direct$(\"" + resource + "\"");
+        assertEquals(CfgStrategy.LAZY.equals(strat), streamed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void generatesStreams(String strat) throws Exception {
+        byte[] binary = new byte[40_001];
+        new Random(0).nextBytes(binary);
+        byte[] utf16 = "utf16".repeat(10_000).getBytes(StandardCharsets.UTF_16BE);
+        byte[] odd = Arrays.copyOf(utf16, utf16.length - 1);
+        byte[] empty = {};
+
+        HandlerResults hr = foo(strat, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("binary.bin", binary)
+                .withResource("odd.bin", odd)
+                .withResource("empty.bin", empty)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertStreams(foo, "binary", binary);
+        assertStreams(foo, "odd", odd);
+        assertStreams(foo, "empty", empty);
+    }
+
+    @Test
+    void spillsLargeInlineData() throws Exception {
+        byte[] data = new byte[300_000];
+        new Random(0).nextBytes(data);
+
+        HandlerResults hr = foo(CfgStrategy.INLINE, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("foo.bin", data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertArrayEquals(data, foo.call("foo").get());
+        assertStreams(foo, "foo", data);
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("class inline$foo1 "));
+        assertFalse(src.contains("class inline$foo2 "));
+    }
+
+    @Test
+    void spillsLargeConstData() throws Exception {
+        byte[] binary = new byte[2_000_000];
+        new Random(0).nextBytes(binary);
+        byte[] utf16 = "utf16".repeat(120_000).getBytes(StandardCharsets.UTF_16BE);
+        byte[] odd = Arrays.copyOf(utf16, utf16.length - 1);
+
+        HandlerResults hr = foo(CfgStrategy.CONST, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("binary.bin", binary)
+                .withResource("odd.bin", odd)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertArrayEquals(binary, foo.call("binary").get());
+        assertArrayEquals(odd, foo.call("odd").get());
+        assertStreams(foo, "binary", binary);
+        assertStreams(foo, "odd", odd);
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("class const$binary1 "));
+        assertTrue(src.contains("class const$odd0 "));
+    }
+
+    private static void assertStreams(Reflect foo, String name, byte[] expected) throws Exception {
+        try (InputStream in = foo.call(name + "OpenStream").get()) {
+            assertArrayEquals(expected, in.readAllBytes());
+        }
+        try (InputStream in = foo.call(name + "OpenStream").get()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int b = in.read(); b >= 0; b = in.read()) {
+                bytes.write(b);
+            }
+            assertArrayEquals(expected, bytes.toByteArray());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        foo.call(name + "WriteTo", out);
+        assertArrayEquals(expected, out.toByteArray());
+        out.reset();
+        foo.call(name + "WriteTo", Channels.newChannel(out));
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.LAZY, CfgStrategy.MEMO})
+    void generatesLazyStreams(String strat) throws Exception {
+        HandlerResults hr = foo(strat, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withLargeAndSmallTextFiles(0xFFFF + 1)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        hr.assertAllGeneratedFilesCompile(1);
+    }
+
+    @Test
+    void preloadsMemos() throws Exception {
+        byte[] data = "memo".getBytes(StandardCharsets.UTF_8);
+        HandlerResults hr = foo(CfgStrategy.MEMO, new Config(CfgPreload.PRELOAD, CfgPreload.TRUE))
+                .withResource("foo.bin", data)
+                .withResource("bar.bin", new byte[0])
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        CompletableFuture<Void> all = foo.call("preloadAll").get();
+        assertNull(all.get());
+        Executor direct = Runnable::run;
+        CompletableFuture<Void> some = foo.call("preload", direct).get();
+        assertTrue(some.isDone());
+        assertArrayEquals(data, foo.call("foo").get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.LAZY})
+    void preloadMemoizesLazyResources(String strat) throws Exception {
+        HandlerResults hr = foo(strat,
+                new Config(CfgStreams.STREAMS, CfgStreams.TRUE),
+                new Config(CfgPreload.PRELOAD, CfgPreload.TRUE))
+                .withResource("foo.bin", new byte[0xFFFF + 1])
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertTrue(hr.generatedSource().get("Foo").contains("memo$foo.DATA"));
+        // resource is not on the test class path
+        CompletableFuture<Void> all = foo.call("preloadAll").get();
+        assertThrows(ExecutionException.class, all::get);
+    }
+
+    @Test
+    void generatesLazyBuffers() throws Exception {
+        HandlerResults hr = foo(CfgStrategy.LAZY, new Config(CfgBuffer.BUFFER, CfgBuffer.HEAP))
+                .withLargeAndSmallTextFiles(1024)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        hr.assertAllGeneratedFilesCompile(1);
+    }
+
     @Test
     void handlesZeroSkipping() throws Exception {
         String data = "\0\0\0A\0";
@@ -28,6 +28,11 @@ class GenerateConstantsFromPropertiesTest {
         assertTrue(supported.contains(CfgVisibility.DEF));
     }
 
+    @Test
+    void isDeterministic() {
+        assertTrue(handler.deterministic());
+    }
+
     @Test
     void canGenerateConstants() throws Exception {
         byte[] legalProperties = ("today={0} said \"Today is {1,date}!\"\n"
@@ -32,6 +32,11 @@ class GenerateInputStreamsFromFilesTest {
         assertTrue(supported.contains(CfgName.DEF));
     }
 
+    @Test
+    void isDeterministic() {
+        assertTrue(handler.deterministic());
+    }
+
     @Test
     void canGenerateSourcesFromFiles() throws Exception {
         Pkg foo = Pkg.named("foo");
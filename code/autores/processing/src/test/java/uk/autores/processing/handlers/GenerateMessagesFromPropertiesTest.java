@@ -2,18 +2,35 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.processing.handlers;
 
+import org.joor.Reflect;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import uk.autores.handling.Config;
 import uk.autores.handling.ConfigDef;
 import uk.autores.handling.Handler;
+import uk.autores.handling.Resource;
 import uk.autores.processing.testing.HandlerResults;
 import uk.autores.processing.testing.HandlerTester;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GenerateMessagesFromPropertiesTest {
@@ -93,6 +110,11 @@ class GenerateMessagesFromPropertiesTest {
         assertTrue(supported.contains(CfgIncompatibleFormat.DEF));
     }
 
+    @Test
+    void isNotDeterministic() {
+        assertFalse(handler.deterministic());
+    }
+
     @Test
     void generatesUnlocalizedMessages() throws Exception {
         HandlerResults hr = tester().withResource(filename, messages())
@@ -111,6 +133,36 @@ class GenerateMessagesFromPropertiesTest {
         hr.assertAllGeneratedFilesCompile(1);
     }
 
+    @Test
+    void discoversLocalizedMessagesInDirectory(@TempDir Path dir) throws Exception {
+        Path base = Files.write(dir.resolve(filename), messages());
+        Path fr = Files.write(dir.resolve(filename_fr), messages_fr());
+        Files.write(dir.resolve("Messages_xx_unknown.properties"), messages_fr_empty());
+        Files.write(dir.resolve("Other_fr.properties"), messages_fr_empty());
+
+        HandlerResults hr = tester()
+                .withResource(filename, base)
+                .withUnspecifiedFile(filename_fr, fr)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        hr.assertAllGeneratedFilesCompile(1);
+        String src = hr.generatedSource().values().iterator().next();
+        assertTrue(src.contains("case \"fr\""));
+    }
+
+    @Test
+    void ignoresLocalizedMessagesWithoutBaseFile() throws Exception {
+        byte[] data = messages();
+        HandlerResults hr = tester()
+                .withResource(new Resource(() -> new ByteArrayInputStream(data), filename))
+                .withUnspecifiedFile(filename_fr, messages_fr())
+                .test();
+        hr.assertNoErrorMessagesReported();
+        hr.assertAllGeneratedFilesCompile(1);
+        String src = hr.generatedSource().values().iterator().next();
+        assertFalse(src.contains("case \"fr\""));
+    }
+
     @Test
     void skipsLocalizedMessages() throws Exception {
         List<Config> cfg = singletonList(new Config(CfgLocalize.LOCALIZE, CfgLocalize.FALSE));
@@ -191,6 +243,61 @@ class GenerateMessagesFromPropertiesTest {
         hr.assertAllGeneratedFilesCompile(1);
     }
 
+    @Test
+    void cachesFormatters() throws Exception {
+        String data = "number={0,number}\n";
+        data += "again={0,number} and {1,number}\n";
+        data += "custom={0,number,#,##0.00}\n";
+        data += "choice=There {0,choice,0#are no files|1#is one file|1<are {0,number,integer} files}.\n";
+        data += "day={0,date,yyyy-MM-dd}\n";
+        data += "short-date={0,dtf_date,short}\n";
+        List<Config> cfg = singletonList(new Config(CfgLocalize.LOCALIZE, "false"));
+        HandlerResults hr = tester()
+                .withConfig(cfg)
+                .withResource(filename, data.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        String src = hr.generatedSource().get("Messages");
+        assertEquals(src.indexOf("NumberFormat.getInstance(x)"), src.lastIndexOf("NumberFormat.getInstance(x)"));
+
+        Reflect messages = hr.compile("Messages");
+        LocalDate date = LocalDate.of(2024, 1, 2);
+        for (Locale l : asList(Locale.US, Locale.GERMANY, Locale.US)) {
+            NumberFormat nf = NumberFormat.getInstance(l);
+            assertEquals(nf.format(1234.5), messages.call("number", l, 1234.5).get());
+            assertEquals(nf.format(1) + " and " + nf.format(2), messages.call("again", l, 1, 2).get());
+            String custom = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(l)).format(1234.5);
+            assertEquals(custom, messages.call("custom", l, 1234.5).get());
+            assertEquals("2024-01-02", messages.call("day", l, date).get());
+            String shortDate = DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT).withLocale(l).format(date);
+            assertEquals(shortDate, messages.call("short_date", l, date).get());
+        }
+        assertEquals("There are no files.", messages.call("choice", Locale.US, 0).get());
+        assertEquals("There is one file.", messages.call("choice", Locale.US, 1).get());
+        assertEquals("There are 3 files.", messages.call("choice", Locale.US, 3).get());
+    }
+
+    @Test
+    void boundsFormatterCaches() throws Exception {
+        String data = "number={0,number}\n";
+        List<Config> cfg = singletonList(new Config(CfgLocalize.LOCALIZE, "false"));
+        HandlerResults hr = tester()
+                .withConfig(cfg)
+                .withResource(filename, data.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect messages = hr.compile("Messages");
+        Locale[] locales = Locale.getAvailableLocales();
+        assertTrue(locales.length > FormatCache.LOCALES);
+        for (Locale l : locales) {
+            assertEquals(NumberFormat.getInstance(l).format(1234.5), messages.call("number", l, 1234.5).get());
+        }
+        Map<?, ?> cache = messages.field("FORMAT$0").get();
+        assertEquals(FormatCache.LOCALES, cache.size());
+    }
+
     @Test
     void reportsMismatchedFormatVariables() throws Exception {
         HandlerResults hr = tester()
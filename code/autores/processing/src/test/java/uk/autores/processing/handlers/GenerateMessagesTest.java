@@ -75,8 +75,8 @@ class GenerateMessagesTest {
         ClassLoader cl = GenerateMessagesTest.class.getClassLoader();
         Class<?> JavaWriter = cl.loadClass("uk.autores.processing.handlers.JavaWriter");
         Class<?> GenerateMessages = cl.loadClass("uk.autores.processing.handlers.GenerateMessages");
-        Method write = GenerateMessages.getDeclaredMethod("write", JavaWriter, Locale.class, FormatExpression.class, Boolean.TYPE);
+        Method write = GenerateMessages.getDeclaredMethod("write", JavaWriter, Locale.class, FormatExpression.class, Boolean.TYPE, FormatCache.class);
         write.setAccessible(true);
-        write.invoke(null, w, l, expression, estLength);
+        write.invoke(null, w, l, expression, estLength, new FormatCache());
     }
 }
\ No newline at end of file
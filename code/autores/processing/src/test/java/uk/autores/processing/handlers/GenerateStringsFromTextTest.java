@@ -2,19 +2,46 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.processing.handlers;
 
+import org.joor.Reflect;
+import org.joor.ReflectException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import uk.autores.handling.Config;
 import uk.autores.handling.ConfigDef;
 import uk.autores.handling.Handler;
+import uk.autores.handling.Resource;
 import uk.autores.processing.testing.HandlerResults;
 import uk.autores.processing.testing.HandlerTester;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GenerateStringsFromTextTest {
@@ -25,23 +52,401 @@ class GenerateStringsFromTextTest {
         return new HandlerTester(handler);
     }
 
+    /** Tester generating class Foo with the given strategy and extra options. */
+    private HandlerTester foo(String strategy, Config... config) {
+        List<Config> cfg = new ArrayList<>();
+        cfg.add(new Config(CfgStrategy.STRATEGY, strategy));
+        cfg.add(new Config(CfgName.NAME, "Foo"));
+        cfg.addAll(asList(config));
+        return tester().withConfig(cfg);
+    }
+
     @Test
     void checkConfigDefs() {
         Set<ConfigDef> supported = handler.config();
         assertTrue(supported.contains(CfgVisibility.DEF));
         assertTrue(supported.contains(CfgEncoding.DEF));
         assertTrue(supported.contains(CfgName.DEF));
+        assertTrue(supported.contains(CfgStreams.DEF));
+        assertTrue(supported.contains(CfgReaders.DEF));
+        assertTrue(supported.contains(CfgLines.DEF));
+        assertTrue(supported.contains(CfgPreload.DEF));
+    }
+
+    @Test
+    void isDeterministic() {
+        assertTrue(handler.deterministic());
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.LAZY})
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.LAZY, CfgStrategy.COMPRESSED})
     void canGenerateTextFromFiles(String strategy) throws Exception {
-        List<Config> cfg = asList(new Config(CfgStrategy.STRATEGY, strategy), new Config(CfgName.NAME, "Foo"));
-        HandlerResults hr = tester().withLargeAndSmallTextFiles(0xFFFF + 1).withConfig(cfg).test();
+        HandlerResults hr = foo(strategy).withLargeAndSmallTextFiles(0xFFFF + 1).test();
         hr.assertNoErrorMessagesReported();
         hr.assertAllGeneratedFilesCompile(1);
     }
 
+    @Test
+    void compressedRoundTrips() throws Exception {
+        String text = "\u00A3 \u20AC \uD83C\uDF09 text\n".repeat(10_000);
+        HandlerResults hr = foo(CfgStrategy.COMPRESSED, new Config(CfgEncoding.ENCODING, "UTF-16"))
+                .withResource("foo.txt", text.getBytes(StandardCharsets.UTF_16))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertEquals(text, foo.call("foo").get());
+        assertTrue(hr.generatedSource().get("Foo").length() < text.length());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"latin1 text\n", "\u00A3 \u20AC \uD83C\uDF09 text\n"})
+    void buildsLargeInlineText(String line) throws Exception {
+        String text = line.repeat(10_000);
+        HandlerResults hr = foo(CfgStrategy.INLINE)
+                .withResource("foo.txt", text.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("new java.lang.StringBuilder(" + text.length() + ")"));
+        assertFalse(src.contains("char[]"));
+        Reflect foo = hr.compile("Foo");
+        assertEquals(text, foo.call("foo").get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void generatesStreams(String strategy) throws Exception {
+        String large = "\u00A3 \u20AC \uD83C\uDF09 text\n".repeat(10_000);
+        String small = "small";
+        HandlerResults hr = foo(strategy, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("large.txt", large.getBytes(StandardCharsets.UTF_8))
+                .withResource("small.txt", small.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        for (String text : asList(large, small)) {
+            String name = text == large ? "large" : "small";
+            byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+            try (InputStream in = foo.call(name + "OpenStream").get()) {
+                assertArrayEquals(expected, in.readAllBytes());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            foo.call(name + "WriteTo", out);
+            assertArrayEquals(expected, out.toByteArray());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "ISO-8859-1"})
+    void loadsLazyText(String encoding) throws Exception {
+        // resolved relative to the unnamed package
+        String resource = "uk/autores/processing/SpecificResources_OK.java";
+        byte[] data;
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            data = in.readAllBytes();
+        }
+
+        HandlerResults hr = foo(CfgStrategy.LAZY, new Config(CfgEncoding.ENCODING, encoding))
+                .withResource(resource, data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("load$(\"" + resource + "\", " + data.length + ")"));
+        Reflect foo = hr.compile("Foo");
+        assertEquals(new String(data, encoding), foo.call("SpecificResources_OK").get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void generatesReaders(String strategy) throws Exception {
+        String large = "\u00A3 \u20AC \uD83C\uDF09 text\n".repeat(10_000);
+        String small = "small";
+        HandlerResults hr = foo(strategy, new Config(CfgReaders.READERS, CfgReaders.TRUE))
+                .withResource("large.txt", large.getBytes(StandardCharsets.UTF_8))
+                .withResource("small.txt", small.getBytes(StandardCharsets.UTF_8))
+                .withResource("same.txt", small.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        for (String name : asList("large", "small", "same")) {
+            String expected = "large".equals(name) ? large : small;
+            try (Reader reader = foo.call(name + "OpenReader").get()) {
+                StringWriter out = new StringWriter();
+                reader.transferTo(out);
+                assertEquals(expected, out.toString());
+            }
+            CharSequence view = foo.call(name + "View").get();
+            assertEquals(expected, view.toString());
+        }
+    }
+
+    @Test
+    void viewsChunkedText() throws Exception {
+        String text = "\u00A3 \u20AC \uD83C\uDF09 text\n".repeat(10_000);
+        HandlerResults hr = foo(CfgStrategy.INLINE, new Config(CfgReaders.READERS, CfgReaders.TRUE))
+                .withResource("foo.txt", text.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertTrue(hr.generatedSource().get("Foo").contains("offsets$foo"));
+
+        Reflect foo = hr.compile("Foo");
+        CharSequence view = foo.call("fooView").get();
+        assertFalse(view instanceof String);
+        assertEquals(text.length(), view.length());
+        for (int i = 0; i < text.length(); i += 997) {
+            assertEquals(text.charAt(i), view.charAt(i));
+        }
+        assertEquals(text.charAt(text.length() - 1), view.charAt(text.length() - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(text.length()));
+
+        int from = text.length() / 3;
+        int to = text.length() - 5;
+        CharSequence sub = view.subSequence(from, to);
+        assertEquals(text.substring(from, to), sub.toString());
+        assertEquals(text.charAt(from + 1), sub.charAt(1));
+        assertEquals(10_000, Pattern.compile("text").matcher(view).results().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.subSequence(to, from));
+
+        try (Reader reader = foo.call("fooOpenReader").get()) {
+            assertEquals(0, reader.read(new char[1], 0, 0));
+            try (BufferedReader lines = new BufferedReader(reader)) {
+                assertEquals(10_000, lines.lines().count());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void generatesLazyReaders(boolean preload) throws Exception {
+        // resolved relative to the unnamed package
+        String resource = "uk/autores/processing/SpecificResources_OK.java";
+        byte[] data;
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            data = in.readAllBytes();
+        }
+
+        HandlerResults hr = foo(CfgStrategy.LAZY,
+                new Config(CfgReaders.READERS, CfgReaders.TRUE),
+                new Config(CfgPreload.PRELOAD, String.valueOf(preload)))
+                .withResource(resource, data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        String expected = new String(data, StandardCharsets.UTF_8);
+        try (Reader reader = foo.call("SpecificResources_OKOpenReader").get()) {
+            StringWriter out = new StringWriter();
+            reader.transferTo(out);
+            assertEquals(expected, out.toString());
+        }
+        assertEquals(expected, foo.call("SpecificResources_OKView").get().toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void generatesLines(String strategy) throws Exception {
+        Map<String, String> texts = new LinkedHashMap<>();
+        texts.put("breaks", "a\r\nb\rc\n\n\r\rd\n");
+        texts.put("unterminated", "\u00A3\n\uD83C\uDF09");
+        texts.put("empty", "");
+        texts.put("newline", "\n");
+        texts.put("same", "a\r\nb\rc\n\n\r\rd\n");
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            words.append("word").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        texts.put("words", words.toString());
+
+        HandlerTester tester = foo(strategy, new Config(CfgLines.LINES, CfgLines.TRUE));
+        for (Map.Entry<String, String> e : texts.entrySet()) {
+            tester.withResource(e.getKey() + ".txt", e.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        HandlerResults hr = tester.test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        for (Map.Entry<String, String> e : texts.entrySet()) {
+            String name = e.getKey();
+            List<String> expected = e.getValue().lines().collect(Collectors.toList());
+            int count = foo.call(name + "LineCount").get();
+            assertEquals(expected.size(), count, name);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected.get(i), foo.call(name + "Line", i).get(), name);
+            }
+            Stream<String> lines = foo.call(name + "Lines").get();
+            assertEquals(expected, lines.collect(Collectors.toList()), name);
+            assertThrows(ReflectException.class, () -> foo.call(name + "Line", count));
+        }
+    }
+
+    @Test
+    void generatesLazyLines() throws Exception {
+        // resolved relative to the unnamed package
+        String resource = "uk/autores/processing/SpecificResources_OK.java";
+        byte[] data;
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            data = in.readAllBytes();
+        }
+
+        HandlerResults hr = foo(CfgStrategy.LAZY, new Config(CfgLines.LINES, CfgLines.TRUE))
+                .withResource(resource, data)
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        Stream<String> lines = foo.call("SpecificResources_OKLines").get();
+        List<String> expected = new String(data, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(expected, lines.collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "UTF-16"})
+    void generatesLazyStreams(String encoding) throws Exception {
+        HandlerResults hr = foo(CfgStrategy.LAZY,
+                new Config(CfgEncoding.ENCODING, encoding),
+                new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("foo.txt", "foo".getBytes(encoding))
+                .test();
+        hr.assertNoErrorMessagesReported();
+        hr.assertAllGeneratedFilesCompile(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.COMPRESSED})
+    void embedsIdenticalResourcesOnce(String strategy) throws Exception {
+        String text = "duplicate\n".repeat(100);
+        HandlerResults hr = foo(strategy, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource("bar.txt", text.getBytes(StandardCharsets.UTF_8))
+                .withResource("foo.txt", text.getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        assertEquals(text, foo.call("bar").get());
+        assertEquals(text, foo.call("foo").get());
+        try (InputStream in = foo.call("fooOpenStream").get()) {
+            assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("return bar();"));
+        assertTrue(src.contains("return barOpenStream();"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "UTF-16"})
+    void preloadMemoizesLazyResources(String encoding) throws Exception {
+        HandlerResults hr = foo(CfgStrategy.LAZY,
+                new Config(CfgEncoding.ENCODING, encoding), new Config(CfgStreams.STREAMS, CfgStreams.TRUE),
+                new Config(CfgPreload.PRELOAD, CfgPreload.TRUE))
+                .withResource("foo.txt", "foo".getBytes(encoding))
+                .withResource("bar.txt", "bar".getBytes(encoding))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("return memo$foo.DATA;"));
+        assertTrue(src.contains("return memo$bar.DATA;"));
+        // resources are not on the test class path
+        Executor direct = Runnable::run;
+        CompletableFuture<Void> all = foo.call("preload", direct).get();
+        assertThrows(ExecutionException.class, all::get);
+    }
+
+    @Test
+    void memoizesText() throws Exception {
+        String edge = "a".repeat(ModifiedUtf8Buffer.CONST_BYTE_LIMIT);
+        String large = edge + "b";
+        HandlerResults hr = foo(CfgStrategy.MEMO,
+                new Config(CfgStreams.STREAMS, CfgStreams.TRUE),
+                new Config(CfgReaders.READERS, CfgReaders.TRUE))
+                .withResource("edge.txt", edge.getBytes(StandardCharsets.UTF_8))
+                .withResource("large.txt", large.getBytes(StandardCharsets.UTF_8))
+                .withResource("small.txt", "small".getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        String src = hr.generatedSource().get("Foo");
+        assertTrue(src.contains("return memo$edge.DATA;"));
+        assertTrue(src.contains("private static java.lang.String raw$edge()"));
+        assertTrue(src.contains("return memo$large.DATA;"));
+        assertTrue(src.contains("private static java.lang.String raw$large()"));
+        assertFalse(src.contains("load$"));
+        assertFalse(src.contains("memo$small"));
+
+        Reflect foo = hr.compile("Foo");
+        String first = foo.call("edge").get();
+        assertEquals(edge, first);
+        assertSame(first, foo.call("edge").get());
+        assertSame(first, foo.call("edgeView").get());
+        try (InputStream in = foo.call("edgeOpenStream").get()) {
+            assertArrayEquals(edge.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+        String embedded = foo.call("large").get();
+        assertEquals(large, embedded);
+        assertSame(embedded, foo.call("large").get());
+        assertEquals("small", foo.call("small").get());
+    }
+
+    @Test
+    void preloadsNothingWhenEmbedded() throws Exception {
+        List<Config> cfg = asList(
+                new Config(CfgName.NAME, "Foo"),
+                new Config(CfgPreload.PRELOAD, CfgPreload.TRUE)
+        );
+        HandlerResults hr = tester()
+                .withConfig(cfg)
+                .withResource("foo.txt", "foo".getBytes(StandardCharsets.UTF_8))
+                .test();
+        hr.assertNoErrorMessagesReported();
+
+        Reflect foo = hr.compile("Foo");
+        CompletableFuture<Void> all = foo.call("preloadAll").get();
+        assertNull(all.get());
+        assertEquals("foo", foo.call("foo").get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CfgStrategy.AUTO, CfgStrategy.LAZY, CfgStrategy.INLINE, CfgStrategy.CONST, CfgStrategy.MEMO, CfgStrategy.COMPRESSED})
+    void decodesResourcesOnce(String strategy) throws Exception {
+        byte[] data = "\u00A3 once\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        AtomicInteger opens = new AtomicInteger();
+        Resource resource = new Resource(() -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(data);
+        }, "foo.txt");
+
+        HandlerResults hr = foo(strategy, new Config(CfgStreams.STREAMS, CfgStreams.TRUE))
+                .withResource(resource)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertEquals(1, opens.get());
+    }
+
+    @Test
+    void decodesLargeResourcesAgain() throws Exception {
+        byte[] data = "large\n".repeat(200_000).getBytes(StandardCharsets.UTF_8);
+        AtomicInteger opens = new AtomicInteger();
+        Resource resource = new Resource(() -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(data);
+        }, "foo.txt");
+
+        HandlerResults hr = foo(CfgStrategy.COMPRESSED)
+                .withResource(resource)
+                .test();
+        hr.assertNoErrorMessagesReported();
+        assertEquals(2, opens.get());
+    }
+
     @Test
     void reportsIllegalIdentifier() throws Exception {
         tester().withBadFilename("void.txt")
@@ -49,6 +454,13 @@ class GenerateStringsFromTextTest {
                 .assertErrorMessagesReported();
     }
 
+    @Test
+    void reportsLazyFileTooBig() throws Exception {
+        foo(CfgStrategy.LAZY).withInfinitelyLargeFile()
+                .test()
+                .assertErrorMessagesReported();
+    }
+
     @Test
     void reportsFileTooBig() throws Exception {
         tester().withInfinitelyLargeFile()
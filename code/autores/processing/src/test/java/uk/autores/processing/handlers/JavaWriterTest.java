@@ -80,6 +80,20 @@ class JavaWriterTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void multilineString() throws IOException {
+        String actual = test(ctxt(), jw -> jw.multilineString("0123456789ab\"de"));
+        // verify
+        String expected = "// GENERATED CODE: uk.autores.processing.handlers.JavaWriterTest" + NL;
+        expected += "final class Foo {" + NL;
+        expected += NL;
+        expected += "  private Foo() {}" + NL;
+        expected += NL + "    \"0123456789ab\"";
+        expected += NL + "    + \"\\\"de\"";
+        expected += "}" + NL;
+        assertEquals(expected, actual);
+    }
+
     @Test
     void closeIsIdempotent() throws IOException {
         test(ctxt(), jw -> {
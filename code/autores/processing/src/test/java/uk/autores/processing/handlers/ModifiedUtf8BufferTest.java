@@ -50,6 +50,18 @@ class ModifiedUtf8BufferTest {
         assertEquals(0, buf.length());
     }
 
+    @Test
+    void doesNotSplitSurrogatePairs() throws IOException {
+        Reader reader = new BufferedReader(new StringReader("a" + SURROGATE_PAIR));
+        ModifiedUtf8Buffer buf = new ModifiedUtf8Buffer(6);
+
+        assertTrue(buf.receive(reader));
+        assertEquals("a", buf.toString());
+        assertEquals(1, buf.utf8Length());
+        assertTrue(buf.receive(reader));
+        assertEquals(SURROGATE_PAIR, buf.toString());
+    }
+
     @Test
     void canCreateSubsequence() throws IOException {
         ModifiedUtf8Buffer buf = new ModifiedUtf8Buffer(1024);
@@ -0,0 +1,59 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.handling.Context;
+import uk.autores.handling.Pkg;
+import uk.autores.naming.Namer;
+import uk.autores.processing.testing.env.TestElement;
+import uk.autores.processing.testing.env.TestProcessingEnvironment;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreloadTest {
+
+    @Test
+    void virtualThreads() {
+        assertFalse(Preload.virtualThreads(SourceVersion.RELEASE_17));
+    }
+
+    @Test
+    void preloadsOnVirtualThreads() throws IOException {
+        String src = write(true);
+        assertTrue(src.contains("java.lang.Thread.ofVirtual().name(\"Foo preload\").start(task)"));
+        assertFalse(src.contains("ForkJoinPool"));
+    }
+
+    @Test
+    void preloadsOnCommonPool() throws IOException {
+        String src = write(false);
+        assertTrue(src.contains("preload(java.util.concurrent.ForkJoinPool.commonPool())"));
+        assertFalse(src.contains("java.lang.Thread"));
+    }
+
+    private static String write(boolean virtual) throws IOException {
+        Context ctxt = Context.builder()
+                .setAnnotated(TestElement.INSTANCE)
+                .setEnv(new TestProcessingEnvironment())
+                .setConfig(emptyList())
+                .setLocation(singletonList(StandardLocation.CLASS_PATH))
+                .setNamer(new Namer())
+                .setPkg(Pkg.named(""))
+                .setResources(emptyList())
+                .build();
+        StringWriter sw = new StringWriter();
+        try (JavaWriter writer = new JavaWriter(PreloadTest.class, ctxt, sw, "Foo", "")) {
+            Preload.writeMethods(writer, "Foo", List.of("memo$foo"), virtual);
+        }
+        return sw.toString();
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.processing.handlers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceDirectoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listsDirectory() throws IOException {
+        Path pkg = Files.createDirectories(dir.resolve("foo"));
+        Files.createDirectories(pkg.resolve("sub"));
+        Files.write(pkg.resolve("a.properties"), new byte[0]);
+        Files.write(pkg.resolve("a_fr.properties"), new byte[0]);
+
+        ResourceDirectory rd = new ResourceDirectory();
+        Set<String> actual = rd.siblings(pkg.resolve("a.properties").toUri());
+
+        assertEquals(new HashSet<>(Arrays.asList("a.properties", "a_fr.properties")), actual);
+        assertSame(actual, rd.siblings(pkg.resolve("b.properties").toUri()));
+    }
+
+    @Test
+    void listsMissingDirectory() throws IOException {
+        Set<String> actual = new ResourceDirectory().siblings(dir.resolve("nope/a.properties").toUri());
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void listsJar() throws IOException {
+        Path jar = dir.resolve("test jar.jar");
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(out)) {
+            for (String name : Arrays.asList("foo/", "foo/a b.properties", "foo/a b_fr.properties", "foo/sub/x.txt", "bar.txt")) {
+                jos.putNextEntry(new JarEntry(name));
+                jos.closeEntry();
+            }
+        }
+
+        URI uri = URI.create("jar:" + jar.toUri() + "!/foo/a%20b.properties");
+        Set<String> actual = new ResourceDirectory().siblings(uri);
+
+        assertEquals(new HashSet<>(Arrays.asList("a b.properties", "a b_fr.properties")), actual);
+
+        URI root = URI.create("jar:" + jar.toUri() + "!/bar.txt");
+        assertEquals(new HashSet<>(Arrays.asList("bar.txt")), new ResourceDirectory().siblings(root));
+    }
+
+    @Test
+    void rejectsUnsupported() throws IOException {
+        ResourceDirectory rd = new ResourceDirectory();
+        assertNull(rd.siblings(URI.create("mem:///foo/a.properties")));
+        assertNull(rd.siblings(URI.create("jar:nested:/foo.jar/!bar.jar!/a.properties")));
+        assertNull(rd.siblings(URI.create("jar:file:/foo.jar")));
+    }
+}
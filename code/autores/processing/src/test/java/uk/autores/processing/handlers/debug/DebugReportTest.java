@@ -32,6 +32,7 @@ class DebugReportTest {
                 .withResource(filename, data.getBytes(StandardCharsets.UTF_8))
                 .test();
         hr.assertNoErrorMessagesReported();
+        hr.assertIsolating();
     }
 
     @Test
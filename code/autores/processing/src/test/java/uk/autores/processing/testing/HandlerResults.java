@@ -6,6 +6,7 @@ import org.joor.Reflect;
 import uk.autores.processing.testing.env.TestFileObject;
 import uk.autores.processing.testing.env.TestProcessingEnvironment;
 
+import javax.lang.model.element.Element;
 import javax.tools.Diagnostic;
 import javax.tools.StandardLocation;
 import java.nio.charset.StandardCharsets;
@@ -31,13 +32,27 @@ public final class HandlerResults {
         assertFalse(errors().isEmpty());
     }
 
+    public void assertErrorMessageReported(String expected) {
+        assertTrue(errors().stream().anyMatch(e -> e.toString().contains(expected)), errors().toString());
+    }
+
     public void assertNoErrorMessagesReported() {
         assertTrue(errors().isEmpty(), errors().toString());
     }
 
+    /**
+     * Gradle isolating processors must provide exactly one originating element per generated file.
+     */
+    public void assertIsolating() {
+        for (Map.Entry<String, List<Element>> entry : env.getFiler().originatingElements.entrySet()) {
+            assertEquals(1, entry.getValue().size(), entry.getKey());
+        }
+    }
+
     public void assertAllGeneratedFilesCompile(int expected) {
         Map<String, TestFileObject> sources = env.getFiler().files.get(StandardLocation.SOURCE_OUTPUT);
         assertEquals(expected, sources.size(), sources.keySet().toString());
+        assertIsolating();
 
         String utilityType = "";
         String utilitySrc = "";
@@ -64,6 +79,25 @@ public final class HandlerResults {
         }
     }
 
+    /**
+     * Compiles a generated class so its behaviour can be tested.
+     *
+     * @param qualifiedClassName generated class
+     * @return the compiled class
+     */
+    public Reflect compile(String qualifiedClassName) {
+        Map<String, String> sources = generatedSource();
+        String utilitySrc = sources.entrySet()
+                .stream()
+                .filter(e -> e.getKey().startsWith("AutoRes$"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("");
+        String src = sources.get(qualifiedClassName);
+        assertNotNull(src, sources.keySet().toString());
+        return Reflect.compile(qualifiedClassName, src + System.lineSeparator() + utilitySrc);
+    }
+
     public Map<String, String> generatedSource() {
         Map<String, String> r = new HashMap<>();
         Map<String, TestFileObject> sources = env.getFiler().files.get(StandardLocation.SOURCE_OUTPUT);
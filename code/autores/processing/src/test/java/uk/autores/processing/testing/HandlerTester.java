@@ -6,11 +6,13 @@ import uk.autores.handling.*;
 import uk.autores.naming.Namer;
 import uk.autores.processing.testing.env.TestElement;
 import uk.autores.processing.testing.env.TestFileObject;
+import uk.autores.processing.testing.env.TestPathFileObject;
 import uk.autores.processing.testing.env.TestProcessingEnvironment;
 
 import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -61,6 +63,22 @@ public final class HandlerTester {
         return this;
     }
 
+    public HandlerTester withResource(Resource resource) {
+        resources.add(resource);
+        return this;
+    }
+
+    public HandlerTester withResource(String filename, Path file) {
+        List<Resource> added = ResourceSets.of(env, filename, new TestPathFileObject(file));
+        resources.addAll(added);
+        return this;
+    }
+
+    public HandlerTester withUnspecifiedFile(String filename, Path file) {
+        ResourceSets.of(env, filename, new TestPathFileObject(file));
+        return this;
+    }
+
     public HandlerTester withBadFilename(String filename) throws IOException {
         List<Resource> added = ResourceSets.junkWithBadFilename(env, filename);
         resources.addAll(added);
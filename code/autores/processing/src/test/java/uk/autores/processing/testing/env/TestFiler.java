@@ -10,12 +10,14 @@ import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 public class TestFiler implements Filer {
 
     public final Map<JavaFileManager.Location, Map<String, TestFileObject>> files = new HashMap<>();
+    public final Map<String, List<Element>> originatingElements = new HashMap<>();
 
     public TestFiler() {
         Stream.of(StandardLocation.values()).forEach(sl -> files.put(sl, new HashMap<>()));
@@ -27,9 +29,10 @@ public class TestFiler implements Filer {
             throw new IOException("Already exists: " + name);
         }
         // this isn't very safe - allows over-write where real env wouldn't
-        TestFileObject file = new TestFileObject(false);
+        TestFileObject file = new TestFileObject(true);
         Map<String, TestFileObject> map = files.computeIfAbsent(StandardLocation.SOURCE_OUTPUT, k -> new HashMap<>());
         map.put(name.toString(), file);
+        this.originatingElements.put(name.toString(), List.of(originatingElements));
         return file;
     }
 
@@ -44,9 +47,10 @@ public class TestFiler implements Filer {
             throw new IOException("Already exists: " + relativeName);
         }
         // this isn't very safe - allows over-write where real env wouldn't
-        TestFileObject file = new TestFileObject(false);
-        Map<String, TestFileObject> map = files.computeIfAbsent(StandardLocation.CLASS_OUTPUT, k -> new HashMap<>());
+        TestFileObject file = new TestFileObject(true);
+        Map<String, TestFileObject> map = files.computeIfAbsent(location, k -> new HashMap<>());
         map.put(relativeName.toString(), file);
+        this.originatingElements.put(relativeName.toString(), List.of(originatingElements));
         return file;
     }
 
@@ -56,6 +60,12 @@ public class TestFiler implements Filer {
             throw new IllegalArgumentException(StandardLocation.CLASS_PATH.getName());
         }
         Map<String, TestFileObject> map = files.get(location);
+        String source = relativeName.toString();
+        if (location == StandardLocation.SOURCE_OUTPUT && source.endsWith(".java")) {
+            // sources are stored by qualified class name
+            String simple = source.substring(0, source.length() - ".java".length());
+            return map.getOrDefault(pkg.length() == 0 ? simple : pkg + "." + simple, new TestFileObject());
+        }
         String path = (pkg.length() == 0) ? relativeName.toString() : pkg.toString().replace('.', '/') + '/' + relativeName;
         return map.getOrDefault(path, new TestFileObject());
     }
@@ -5,7 +5,7 @@ package uk.autores.processing.testing.env;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.util.Types;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
@@ -14,10 +14,11 @@ public class TestProcessingEnvironment implements ProcessingEnvironment {
     private final TestFiler filer = new TestFiler();
     private final TestElements elements = new TestElements();
     private final TestMessager messager = new TestMessager();
+    public final Map<String, String> options = new HashMap<>();
 
     @Override
     public Map<String, String> getOptions() {
-        return Collections.emptyMap();
+        return options;
     }
 
     @Override
@@ -2,10 +2,11 @@ package uk.autores.processing;
 
 import uk.autores.*;
 
-@ByteArrays(value = "SpecificResources_OK.java", strategy = Strategy.INLINE)
+@ByteArrays(value = "SpecificResources_OK.java", strategy = Strategy.INLINE, buffer = BufferType.HEAP, streams = true, preload = true)
+@ByteArrays(value = "SpecificElements.bin", name = "SpecificElements", elements = ArrayType.SHORT, order = Endian.LITTLE)
 @InputStreams
 @Messages
 @Keys
-@Texts
+@Texts(streams = true, readers = true, lines = true, preload = true)
 class SpecificResources_OK {
 }
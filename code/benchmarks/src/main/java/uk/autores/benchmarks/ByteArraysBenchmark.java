@@ -0,0 +1,75 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import uk.autores.ByteArrays;
+import uk.autores.Strategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a call to a generated byte array accessor for each {@link Strategy}.
+ */
+@ByteArrays(name = "InlineBytes", value = {"small.bin", "medium.bin"}, strategy = Strategy.INLINE)
+@ByteArrays(name = "ConstBytes", value = {"small.bin", "medium.bin"}, strategy = Strategy.CONST)
+@ByteArrays(name = "LazyBytes", value = {"small.bin", "medium.bin"}, strategy = Strategy.LAZY)
+@ByteArrays(name = "MemoBytes", value = {"small.bin", "medium.bin"}, strategy = Strategy.MEMO)
+@ByteArrays(name = "CompressedBytes", value = {"small.bin", "medium.bin"}, strategy = Strategy.COMPRESSED)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteArraysBenchmark {
+
+    @Benchmark
+    public byte[] inlineSmall() {
+        return InlineBytes.small();
+    }
+
+    @Benchmark
+    public byte[] inlineMedium() {
+        return InlineBytes.medium();
+    }
+
+    @Benchmark
+    public byte[] constSmall() {
+        return ConstBytes.small();
+    }
+
+    @Benchmark
+    public byte[] constMedium() {
+        return ConstBytes.medium();
+    }
+
+    @Benchmark
+    public byte[] lazySmall() {
+        return LazyBytes.small();
+    }
+
+    @Benchmark
+    public byte[] lazyMedium() {
+        return LazyBytes.medium();
+    }
+
+    @Benchmark
+    public byte[] memoSmall() {
+        return MemoBytes.small();
+    }
+
+    @Benchmark
+    public byte[] memoMedium() {
+        return MemoBytes.medium();
+    }
+
+    @Benchmark
+    public byte[] compressedSmall() {
+        return CompressedBytes.small();
+    }
+
+    @Benchmark
+    public byte[] compressedMedium() {
+        return CompressedBytes.medium();
+    }
+}
@@ -0,0 +1,170 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of the two string constant encodings used by the {@code const} strategy.
+ * Constants are built at setup in the shape the processor emits them:
+ * "pairs" packs two bytes per char and decodes with a loop;
+ * "latin1" maps each byte to a char and decodes with {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstEncodingBenchmark {
+
+    private static final int CONST_BYTE_LIMIT = 0xFFFF - 1;
+
+    /** Resource content. */
+    @Param({"random", "ascii", "utf16"})
+    public String data;
+
+    /** Resource size. */
+    @Param({"1024", "49152"})
+    public int size;
+
+    private String[] pairs;
+    private byte oddByte;
+    private String[] latin1;
+
+    @Setup
+    public void setup() {
+        byte[] bytes = data(data, size);
+        pairs = pairs(bytes);
+        oddByte = bytes[bytes.length - 1];
+        latin1 = latin1(bytes);
+    }
+
+    @Benchmark
+    public byte[] pairs() {
+        byte[] barr = new byte[size];
+        int off = 0;
+        for (String s : pairs) {
+            off = decodePairs(s, barr, off);
+        }
+        if ((size & 1) != 0) {
+            barr[size - 1] = oddByte;
+        }
+        return barr;
+    }
+
+    @Benchmark
+    public byte[] latin1() {
+        if (latin1.length == 1) {
+            return latin1[0].getBytes(StandardCharsets.ISO_8859_1);
+        }
+        byte[] barr = new byte[size];
+        int off = 0;
+        for (String s : latin1) {
+            off = decodeLatin1(s, barr, off);
+        }
+        return barr;
+    }
+
+    private static int decodePairs(String s, byte[] barr, int off) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            barr[off++] = (byte) (c >> 8);
+            barr[off++] = (byte) c;
+        }
+        return off;
+    }
+
+    private static int decodeLatin1(String s, byte[] barr, int off) {
+        byte[] b = s.getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(b, 0, barr, off, b.length);
+        return off + b.length;
+    }
+
+    static byte[] data(String kind, int size) {
+        Random random = new Random(17);
+        byte[] bytes = new byte[size];
+        switch (kind) {
+            case "random":
+                random.nextBytes(bytes);
+                break;
+            case "ascii":
+                for (int i = 0; i < size; i++) {
+                    bytes[i] = (byte) (' ' + random.nextInt(95));
+                }
+                break;
+            default:
+                // UTF-16BE encoded ASCII
+                for (int i = 1; i < size; i += 2) {
+                    bytes[i] = (byte) (' ' + random.nextInt(95));
+                }
+        }
+        return bytes;
+    }
+
+    static String[] pairs(byte[] bytes) {
+        char[] chars = new char[bytes.length / 2];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (((bytes[i * 2] & 0xFF) << 8) | (bytes[i * 2 + 1] & 0xFF));
+        }
+        return split(chars);
+    }
+
+    static String[] latin1(byte[] bytes) {
+        char[] chars = new char[bytes.length];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (bytes[i] & 0xFF);
+        }
+        return split(chars);
+    }
+
+    /**
+     * @param chars constant data
+     * @return constants each within the class file limit
+     */
+    private static String[] split(char[] chars) {
+        List<String> constants = new ArrayList<>();
+        int start = 0;
+        int utf8 = 0;
+        for (int i = 0; i < chars.length; i++) {
+            int len = utf8Length(chars[i]);
+            if (utf8 + len > CONST_BYTE_LIMIT) {
+                constants.add(new String(chars, start, i - start));
+                start = i;
+                utf8 = 0;
+            }
+            utf8 += len;
+        }
+        constants.add(new String(chars, start, chars.length - start));
+        return constants.toArray(new String[0]);
+    }
+
+    /**
+     * @param chars constant data
+     * @return bytes needed in the class file constant pool
+     */
+    static int utf8Length(char[] chars) {
+        int total = 0;
+        for (char ch : chars) {
+            total += utf8Length(ch);
+        }
+        return total;
+    }
+
+    private static int utf8Length(char ch) {
+        if (ch == '\u0000') {
+            return 2;
+        } else if (ch < '\u0080') {
+            return 1;
+        } else if (ch < 'ࠀ') {
+            return 2;
+        }
+        return 3;
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import uk.autores.Messages;
+
+import java.text.ChoiceFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of formatting messages with the generated methods, which cache formatters per {@link Locale},
+ * against the same messages formatted with formatters created for each call.
+ */
+@Messages(value = "Log.properties", localize = false)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagesBenchmark {
+
+    private final Locale locale = Locale.UK;
+    private final ZonedDateTime time = ZonedDateTime.of(2026, 10, 18, 12, 30, 0, 0, ZoneOffset.UTC);
+    private final double amount = 1234.5;
+    private final int files = 42;
+
+    @Benchmark
+    public String cachedNumber() {
+        return Log.total(locale, amount);
+    }
+
+    @Benchmark
+    public String uncachedNumber() {
+        return "Total " + NumberFormat.getInstance(locale).format(amount);
+    }
+
+    @Benchmark
+    public String cachedPattern() {
+        return Log.price(locale, amount);
+    }
+
+    @Benchmark
+    public String uncachedPattern() {
+        return "Price " + new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(locale)).format(amount);
+    }
+
+    @Benchmark
+    public String cachedDate() {
+        return Log.logged(locale, time);
+    }
+
+    @Benchmark
+    public String uncachedDate() {
+        return "Logged at " + DateTimeFormatter.ofPattern("HH:mm:ss dd-MM-yyyy", locale).format(time);
+    }
+
+    @Benchmark
+    public String cachedChoice() {
+        return Log.files(locale, files);
+    }
+
+    @Benchmark
+    public String uncachedChoice() {
+        ChoiceFormat choice = new ChoiceFormat("0#are no files|1#is one file|1<are {0,number,integer} files");
+        String result = new MessageFormat(choice.format(files), locale).format(new Object[] {files});
+        return "There " + result + ".";
+    }
+}
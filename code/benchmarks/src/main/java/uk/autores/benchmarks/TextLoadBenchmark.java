@@ -0,0 +1,95 @@
+// Copyright 2026 https://github.com/autores-uk/autores/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of the two shapes of the {@code load$} method generated for lazily loaded texts.
+ * Resource data is held in memory so that only decoding is measured:
+ * "reader" is the {@link InputStreamReader} loop into a {@code char[]};
+ * "bulk" reads the exact byte count and decodes with {@link String#String(byte[], Charset)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextLoadBenchmark {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /** Resource content. */
+    @Param({"ascii", "utf8"})
+    public String data;
+
+    /** Resource size in chars. */
+    @Param({"65536", "1048576"})
+    public int size;
+
+    private byte[] bytes;
+    private int chars;
+
+    @Setup
+    public void setup() {
+        String text = text(data, size);
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+        chars = text.length();
+    }
+
+    @Benchmark
+    public String reader() throws IOException {
+        Charset enc = Charset.forName("UTF-8");
+        char[] buf = new char[chars];
+        try (InputStream in = new ByteArrayInputStream(bytes);
+             Reader reader = new InputStreamReader(in, enc)) {
+            int offset = 0;
+            while (true) {
+                int r = reader.read(buf, offset, buf.length - offset);
+                if (r < 0) { break; }
+                offset += r;
+                if (offset == buf.length) { break; }
+            }
+            if ((offset != chars) || (in.read() >= 0)) {
+                throw new AssertionError("Modified after compilation");
+            }
+        }
+        return new String(buf);
+    }
+
+    @Benchmark
+    public String bulk() throws IOException {
+        try (InputStream in = new ByteArrayInputStream(bytes)) {
+            byte[] b = in.readNBytes(bytes.length);
+            if ((b.length != bytes.length) || (in.read() >= 0)) {
+                throw new AssertionError("Modified after compilation");
+            }
+            return new String(b, CHARSET);
+        }
+    }
+
+    static String text(String kind, int size) {
+        Random random = new Random(17);
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            if ("ascii".equals(kind) || random.nextInt(8) != 0) {
+                sb.append((char) (' ' + random.nextInt(95)));
+            } else {
+                // Latin-1 supplement, Greek and Cyrillic
+                sb.append((char) (' ' + random.nextInt(0x3A0)));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -37,6 +37,16 @@ public class GenerateIconsFromFiles implements Handler {
         return byteArrayGenerator.config();
     }
 
+    /**
+     * The generated code depends only on the context so the annotation processor may reuse prior output.
+     *
+     * @return true
+     */
+    @Override
+    public boolean deterministic() {
+        return true;
+    }
+
     @Override
     public void handle(Context context) throws Exception {
         // visibility